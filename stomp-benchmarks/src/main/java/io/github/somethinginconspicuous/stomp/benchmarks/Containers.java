@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+
+/**
+ * Builds the argument containers and argument vectors that the benchmarks parse.
+ */
+final class Containers {
+    private Containers() {
+    }
+
+    /**
+     * Creates an empty container with the given number of options.
+     * 
+     * @param fields 5, 50 or 500
+     */
+    static AbstractArgs create(int fields) {
+        switch (fields) {
+            case 5: return new Fields5();
+            case 50: return new Fields50();
+            case 500: return new Fields500();
+            default: throw new IllegalArgumentException("No container with " + fields + " fields");
+        }
+    }
+
+    /**
+     * Builds an argument vector of {@code tokens} arguments, made of option and value pairs
+     * that cycle through the options of the container with {@code fields} options. Every
+     * value can be converted to the type of its field.
+     * 
+     * @param fields 5, 50 or 500
+     * @param tokens The length of the argument vector, which should be even
+     */
+    static String[] argv(int fields, int tokens) {
+        String[] args = new String[tokens];
+        for (int i = 0; i + 1 < tokens; i += 2) {
+            int field = (i / 2) % fields;
+            args[i] = "--f" + field;
+            args[i + 1] = valueOf(field);
+        }
+        if(tokens % 2 == 1){
+            args[tokens - 1] = "operand";
+        }
+        return args;
+    }
+
+    /**
+     * Gets a value for field {@code fN} of the {@code FieldsN} containers, following the
+     * order of their field types.
+     */
+    private static String valueOf(int field) {
+        switch (field % 5) {
+            case 0: return "value" + field;
+            case 1: return Integer.toString(field);
+            case 2: return Long.toString(field * 1000000007L);
+            case 3: return Double.toString(field + 0.5);
+            default: return "true";
+        }
+    }
+}
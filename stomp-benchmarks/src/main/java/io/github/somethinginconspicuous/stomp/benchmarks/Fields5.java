@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+import io.github.somethinginconspicuous.stomp.Arg;
+
+/**
+ * An argument container with 5 options, cycling through {@code String}, {@code int},
+ * {@code long}, {@code double} and {@code boolean} fields. Field {@code fN} is given the
+ * option {@code --fN}.
+ * 
+ * @see Containers
+ */
+public class Fields5 extends AbstractArgs {
+    @Arg public String f0;
+    @Arg public int f1;
+    @Arg public long f2;
+    @Arg public double f3;
+    @Arg public boolean f4;
+}
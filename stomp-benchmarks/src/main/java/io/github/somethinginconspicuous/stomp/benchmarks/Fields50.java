@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+import io.github.somethinginconspicuous.stomp.Arg;
+
+/**
+ * An argument container with 50 options, cycling through {@code String}, {@code int},
+ * {@code long}, {@code double} and {@code boolean} fields. Field {@code fN} is given the
+ * option {@code --fN}.
+ * 
+ * @see Containers
+ */
+public class Fields50 extends AbstractArgs {
+    @Arg public String f0;
+    @Arg public int f1;
+    @Arg public long f2;
+    @Arg public double f3;
+    @Arg public boolean f4;
+    @Arg public String f5;
+    @Arg public int f6;
+    @Arg public long f7;
+    @Arg public double f8;
+    @Arg public boolean f9;
+    @Arg public String f10;
+    @Arg public int f11;
+    @Arg public long f12;
+    @Arg public double f13;
+    @Arg public boolean f14;
+    @Arg public String f15;
+    @Arg public int f16;
+    @Arg public long f17;
+    @Arg public double f18;
+    @Arg public boolean f19;
+    @Arg public String f20;
+    @Arg public int f21;
+    @Arg public long f22;
+    @Arg public double f23;
+    @Arg public boolean f24;
+    @Arg public String f25;
+    @Arg public int f26;
+    @Arg public long f27;
+    @Arg public double f28;
+    @Arg public boolean f29;
+    @Arg public String f30;
+    @Arg public int f31;
+    @Arg public long f32;
+    @Arg public double f33;
+    @Arg public boolean f34;
+    @Arg public String f35;
+    @Arg public int f36;
+    @Arg public long f37;
+    @Arg public double f38;
+    @Arg public boolean f39;
+    @Arg public String f40;
+    @Arg public int f41;
+    @Arg public long f42;
+    @Arg public double f43;
+    @Arg public boolean f44;
+    @Arg public String f45;
+    @Arg public int f46;
+    @Arg public long f47;
+    @Arg public double f48;
+    @Arg public boolean f49;
+}
@@ -0,0 +1,539 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+import io.github.somethinginconspicuous.stomp.Arg;
+
+/**
+ * An argument container with 500 options, cycling through {@code String}, {@code int},
+ * {@code long}, {@code double} and {@code boolean} fields. Field {@code fN} is given the
+ * option {@code --fN}.
+ * 
+ * @see Containers
+ */
+public class Fields500 extends AbstractArgs {
+    @Arg public String f0;
+    @Arg public int f1;
+    @Arg public long f2;
+    @Arg public double f3;
+    @Arg public boolean f4;
+    @Arg public String f5;
+    @Arg public int f6;
+    @Arg public long f7;
+    @Arg public double f8;
+    @Arg public boolean f9;
+    @Arg public String f10;
+    @Arg public int f11;
+    @Arg public long f12;
+    @Arg public double f13;
+    @Arg public boolean f14;
+    @Arg public String f15;
+    @Arg public int f16;
+    @Arg public long f17;
+    @Arg public double f18;
+    @Arg public boolean f19;
+    @Arg public String f20;
+    @Arg public int f21;
+    @Arg public long f22;
+    @Arg public double f23;
+    @Arg public boolean f24;
+    @Arg public String f25;
+    @Arg public int f26;
+    @Arg public long f27;
+    @Arg public double f28;
+    @Arg public boolean f29;
+    @Arg public String f30;
+    @Arg public int f31;
+    @Arg public long f32;
+    @Arg public double f33;
+    @Arg public boolean f34;
+    @Arg public String f35;
+    @Arg public int f36;
+    @Arg public long f37;
+    @Arg public double f38;
+    @Arg public boolean f39;
+    @Arg public String f40;
+    @Arg public int f41;
+    @Arg public long f42;
+    @Arg public double f43;
+    @Arg public boolean f44;
+    @Arg public String f45;
+    @Arg public int f46;
+    @Arg public long f47;
+    @Arg public double f48;
+    @Arg public boolean f49;
+    @Arg public String f50;
+    @Arg public int f51;
+    @Arg public long f52;
+    @Arg public double f53;
+    @Arg public boolean f54;
+    @Arg public String f55;
+    @Arg public int f56;
+    @Arg public long f57;
+    @Arg public double f58;
+    @Arg public boolean f59;
+    @Arg public String f60;
+    @Arg public int f61;
+    @Arg public long f62;
+    @Arg public double f63;
+    @Arg public boolean f64;
+    @Arg public String f65;
+    @Arg public int f66;
+    @Arg public long f67;
+    @Arg public double f68;
+    @Arg public boolean f69;
+    @Arg public String f70;
+    @Arg public int f71;
+    @Arg public long f72;
+    @Arg public double f73;
+    @Arg public boolean f74;
+    @Arg public String f75;
+    @Arg public int f76;
+    @Arg public long f77;
+    @Arg public double f78;
+    @Arg public boolean f79;
+    @Arg public String f80;
+    @Arg public int f81;
+    @Arg public long f82;
+    @Arg public double f83;
+    @Arg public boolean f84;
+    @Arg public String f85;
+    @Arg public int f86;
+    @Arg public long f87;
+    @Arg public double f88;
+    @Arg public boolean f89;
+    @Arg public String f90;
+    @Arg public int f91;
+    @Arg public long f92;
+    @Arg public double f93;
+    @Arg public boolean f94;
+    @Arg public String f95;
+    @Arg public int f96;
+    @Arg public long f97;
+    @Arg public double f98;
+    @Arg public boolean f99;
+    @Arg public String f100;
+    @Arg public int f101;
+    @Arg public long f102;
+    @Arg public double f103;
+    @Arg public boolean f104;
+    @Arg public String f105;
+    @Arg public int f106;
+    @Arg public long f107;
+    @Arg public double f108;
+    @Arg public boolean f109;
+    @Arg public String f110;
+    @Arg public int f111;
+    @Arg public long f112;
+    @Arg public double f113;
+    @Arg public boolean f114;
+    @Arg public String f115;
+    @Arg public int f116;
+    @Arg public long f117;
+    @Arg public double f118;
+    @Arg public boolean f119;
+    @Arg public String f120;
+    @Arg public int f121;
+    @Arg public long f122;
+    @Arg public double f123;
+    @Arg public boolean f124;
+    @Arg public String f125;
+    @Arg public int f126;
+    @Arg public long f127;
+    @Arg public double f128;
+    @Arg public boolean f129;
+    @Arg public String f130;
+    @Arg public int f131;
+    @Arg public long f132;
+    @Arg public double f133;
+    @Arg public boolean f134;
+    @Arg public String f135;
+    @Arg public int f136;
+    @Arg public long f137;
+    @Arg public double f138;
+    @Arg public boolean f139;
+    @Arg public String f140;
+    @Arg public int f141;
+    @Arg public long f142;
+    @Arg public double f143;
+    @Arg public boolean f144;
+    @Arg public String f145;
+    @Arg public int f146;
+    @Arg public long f147;
+    @Arg public double f148;
+    @Arg public boolean f149;
+    @Arg public String f150;
+    @Arg public int f151;
+    @Arg public long f152;
+    @Arg public double f153;
+    @Arg public boolean f154;
+    @Arg public String f155;
+    @Arg public int f156;
+    @Arg public long f157;
+    @Arg public double f158;
+    @Arg public boolean f159;
+    @Arg public String f160;
+    @Arg public int f161;
+    @Arg public long f162;
+    @Arg public double f163;
+    @Arg public boolean f164;
+    @Arg public String f165;
+    @Arg public int f166;
+    @Arg public long f167;
+    @Arg public double f168;
+    @Arg public boolean f169;
+    @Arg public String f170;
+    @Arg public int f171;
+    @Arg public long f172;
+    @Arg public double f173;
+    @Arg public boolean f174;
+    @Arg public String f175;
+    @Arg public int f176;
+    @Arg public long f177;
+    @Arg public double f178;
+    @Arg public boolean f179;
+    @Arg public String f180;
+    @Arg public int f181;
+    @Arg public long f182;
+    @Arg public double f183;
+    @Arg public boolean f184;
+    @Arg public String f185;
+    @Arg public int f186;
+    @Arg public long f187;
+    @Arg public double f188;
+    @Arg public boolean f189;
+    @Arg public String f190;
+    @Arg public int f191;
+    @Arg public long f192;
+    @Arg public double f193;
+    @Arg public boolean f194;
+    @Arg public String f195;
+    @Arg public int f196;
+    @Arg public long f197;
+    @Arg public double f198;
+    @Arg public boolean f199;
+    @Arg public String f200;
+    @Arg public int f201;
+    @Arg public long f202;
+    @Arg public double f203;
+    @Arg public boolean f204;
+    @Arg public String f205;
+    @Arg public int f206;
+    @Arg public long f207;
+    @Arg public double f208;
+    @Arg public boolean f209;
+    @Arg public String f210;
+    @Arg public int f211;
+    @Arg public long f212;
+    @Arg public double f213;
+    @Arg public boolean f214;
+    @Arg public String f215;
+    @Arg public int f216;
+    @Arg public long f217;
+    @Arg public double f218;
+    @Arg public boolean f219;
+    @Arg public String f220;
+    @Arg public int f221;
+    @Arg public long f222;
+    @Arg public double f223;
+    @Arg public boolean f224;
+    @Arg public String f225;
+    @Arg public int f226;
+    @Arg public long f227;
+    @Arg public double f228;
+    @Arg public boolean f229;
+    @Arg public String f230;
+    @Arg public int f231;
+    @Arg public long f232;
+    @Arg public double f233;
+    @Arg public boolean f234;
+    @Arg public String f235;
+    @Arg public int f236;
+    @Arg public long f237;
+    @Arg public double f238;
+    @Arg public boolean f239;
+    @Arg public String f240;
+    @Arg public int f241;
+    @Arg public long f242;
+    @Arg public double f243;
+    @Arg public boolean f244;
+    @Arg public String f245;
+    @Arg public int f246;
+    @Arg public long f247;
+    @Arg public double f248;
+    @Arg public boolean f249;
+    @Arg public String f250;
+    @Arg public int f251;
+    @Arg public long f252;
+    @Arg public double f253;
+    @Arg public boolean f254;
+    @Arg public String f255;
+    @Arg public int f256;
+    @Arg public long f257;
+    @Arg public double f258;
+    @Arg public boolean f259;
+    @Arg public String f260;
+    @Arg public int f261;
+    @Arg public long f262;
+    @Arg public double f263;
+    @Arg public boolean f264;
+    @Arg public String f265;
+    @Arg public int f266;
+    @Arg public long f267;
+    @Arg public double f268;
+    @Arg public boolean f269;
+    @Arg public String f270;
+    @Arg public int f271;
+    @Arg public long f272;
+    @Arg public double f273;
+    @Arg public boolean f274;
+    @Arg public String f275;
+    @Arg public int f276;
+    @Arg public long f277;
+    @Arg public double f278;
+    @Arg public boolean f279;
+    @Arg public String f280;
+    @Arg public int f281;
+    @Arg public long f282;
+    @Arg public double f283;
+    @Arg public boolean f284;
+    @Arg public String f285;
+    @Arg public int f286;
+    @Arg public long f287;
+    @Arg public double f288;
+    @Arg public boolean f289;
+    @Arg public String f290;
+    @Arg public int f291;
+    @Arg public long f292;
+    @Arg public double f293;
+    @Arg public boolean f294;
+    @Arg public String f295;
+    @Arg public int f296;
+    @Arg public long f297;
+    @Arg public double f298;
+    @Arg public boolean f299;
+    @Arg public String f300;
+    @Arg public int f301;
+    @Arg public long f302;
+    @Arg public double f303;
+    @Arg public boolean f304;
+    @Arg public String f305;
+    @Arg public int f306;
+    @Arg public long f307;
+    @Arg public double f308;
+    @Arg public boolean f309;
+    @Arg public String f310;
+    @Arg public int f311;
+    @Arg public long f312;
+    @Arg public double f313;
+    @Arg public boolean f314;
+    @Arg public String f315;
+    @Arg public int f316;
+    @Arg public long f317;
+    @Arg public double f318;
+    @Arg public boolean f319;
+    @Arg public String f320;
+    @Arg public int f321;
+    @Arg public long f322;
+    @Arg public double f323;
+    @Arg public boolean f324;
+    @Arg public String f325;
+    @Arg public int f326;
+    @Arg public long f327;
+    @Arg public double f328;
+    @Arg public boolean f329;
+    @Arg public String f330;
+    @Arg public int f331;
+    @Arg public long f332;
+    @Arg public double f333;
+    @Arg public boolean f334;
+    @Arg public String f335;
+    @Arg public int f336;
+    @Arg public long f337;
+    @Arg public double f338;
+    @Arg public boolean f339;
+    @Arg public String f340;
+    @Arg public int f341;
+    @Arg public long f342;
+    @Arg public double f343;
+    @Arg public boolean f344;
+    @Arg public String f345;
+    @Arg public int f346;
+    @Arg public long f347;
+    @Arg public double f348;
+    @Arg public boolean f349;
+    @Arg public String f350;
+    @Arg public int f351;
+    @Arg public long f352;
+    @Arg public double f353;
+    @Arg public boolean f354;
+    @Arg public String f355;
+    @Arg public int f356;
+    @Arg public long f357;
+    @Arg public double f358;
+    @Arg public boolean f359;
+    @Arg public String f360;
+    @Arg public int f361;
+    @Arg public long f362;
+    @Arg public double f363;
+    @Arg public boolean f364;
+    @Arg public String f365;
+    @Arg public int f366;
+    @Arg public long f367;
+    @Arg public double f368;
+    @Arg public boolean f369;
+    @Arg public String f370;
+    @Arg public int f371;
+    @Arg public long f372;
+    @Arg public double f373;
+    @Arg public boolean f374;
+    @Arg public String f375;
+    @Arg public int f376;
+    @Arg public long f377;
+    @Arg public double f378;
+    @Arg public boolean f379;
+    @Arg public String f380;
+    @Arg public int f381;
+    @Arg public long f382;
+    @Arg public double f383;
+    @Arg public boolean f384;
+    @Arg public String f385;
+    @Arg public int f386;
+    @Arg public long f387;
+    @Arg public double f388;
+    @Arg public boolean f389;
+    @Arg public String f390;
+    @Arg public int f391;
+    @Arg public long f392;
+    @Arg public double f393;
+    @Arg public boolean f394;
+    @Arg public String f395;
+    @Arg public int f396;
+    @Arg public long f397;
+    @Arg public double f398;
+    @Arg public boolean f399;
+    @Arg public String f400;
+    @Arg public int f401;
+    @Arg public long f402;
+    @Arg public double f403;
+    @Arg public boolean f404;
+    @Arg public String f405;
+    @Arg public int f406;
+    @Arg public long f407;
+    @Arg public double f408;
+    @Arg public boolean f409;
+    @Arg public String f410;
+    @Arg public int f411;
+    @Arg public long f412;
+    @Arg public double f413;
+    @Arg public boolean f414;
+    @Arg public String f415;
+    @Arg public int f416;
+    @Arg public long f417;
+    @Arg public double f418;
+    @Arg public boolean f419;
+    @Arg public String f420;
+    @Arg public int f421;
+    @Arg public long f422;
+    @Arg public double f423;
+    @Arg public boolean f424;
+    @Arg public String f425;
+    @Arg public int f426;
+    @Arg public long f427;
+    @Arg public double f428;
+    @Arg public boolean f429;
+    @Arg public String f430;
+    @Arg public int f431;
+    @Arg public long f432;
+    @Arg public double f433;
+    @Arg public boolean f434;
+    @Arg public String f435;
+    @Arg public int f436;
+    @Arg public long f437;
+    @Arg public double f438;
+    @Arg public boolean f439;
+    @Arg public String f440;
+    @Arg public int f441;
+    @Arg public long f442;
+    @Arg public double f443;
+    @Arg public boolean f444;
+    @Arg public String f445;
+    @Arg public int f446;
+    @Arg public long f447;
+    @Arg public double f448;
+    @Arg public boolean f449;
+    @Arg public String f450;
+    @Arg public int f451;
+    @Arg public long f452;
+    @Arg public double f453;
+    @Arg public boolean f454;
+    @Arg public String f455;
+    @Arg public int f456;
+    @Arg public long f457;
+    @Arg public double f458;
+    @Arg public boolean f459;
+    @Arg public String f460;
+    @Arg public int f461;
+    @Arg public long f462;
+    @Arg public double f463;
+    @Arg public boolean f464;
+    @Arg public String f465;
+    @Arg public int f466;
+    @Arg public long f467;
+    @Arg public double f468;
+    @Arg public boolean f469;
+    @Arg public String f470;
+    @Arg public int f471;
+    @Arg public long f472;
+    @Arg public double f473;
+    @Arg public boolean f474;
+    @Arg public String f475;
+    @Arg public int f476;
+    @Arg public long f477;
+    @Arg public double f478;
+    @Arg public boolean f479;
+    @Arg public String f480;
+    @Arg public int f481;
+    @Arg public long f482;
+    @Arg public double f483;
+    @Arg public boolean f484;
+    @Arg public String f485;
+    @Arg public int f486;
+    @Arg public long f487;
+    @Arg public double f488;
+    @Arg public boolean f489;
+    @Arg public String f490;
+    @Arg public int f491;
+    @Arg public long f492;
+    @Arg public double f493;
+    @Arg public boolean f494;
+    @Arg public String f495;
+    @Arg public int f496;
+    @Arg public long f497;
+    @Arg public double f498;
+    @Arg public boolean f499;
+}
@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import java.io.File;
+import java.math.BigDecimal;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+import io.github.somethinginconspicuous.stomp.Arg;
+
+/**
+ * An argument container with one field for every type branch of the parser.
+ */
+public class TypeArgs extends AbstractArgs {
+    @Arg(longName = "string") public String string;
+    @Arg(longName = "int") public int i;
+    @Arg(longName = "long") public long l;
+    @Arg(longName = "float") public float f;
+    @Arg(longName = "double") public double d;
+    @Arg(longName = "byte") public byte b;
+    @Arg(longName = "short") public short s;
+    @Arg(longName = "char") public char c;
+    @Arg(longName = "boolean") public boolean bool;
+    @Arg(longName = "toggle") public boolean toggle;
+    @Arg(longName = "boxed") public Integer boxed;
+    @Arg(longName = "decimal") public BigDecimal decimal;
+    @Arg(longName = "file") public File file;
+}
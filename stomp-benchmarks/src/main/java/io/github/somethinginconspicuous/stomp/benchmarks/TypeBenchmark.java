@@ -0,0 +1,85 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady state cost of each type branch of the parser, parsing a single option and its
+ * value into a new {@link TypeArgs}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeBenchmark {
+    @Param({"string", "int", "long", "float", "double", "byte", "short", "char", "boolean", "toggle", "boxed", "decimal", "file"})
+    public String type;
+
+    private String[] argv;
+
+    @Setup
+    public void setup() {
+        switch (type) {
+            case "string": argv = new String[] {"--string", "value"}; break;
+            case "int": argv = new String[] {"--int", "123456"}; break;
+            case "long": argv = new String[] {"--long", "123456789012"}; break;
+            case "float": argv = new String[] {"--float", "1.5"}; break;
+            case "double": argv = new String[] {"--double", "2.25"}; break;
+            case "byte": argv = new String[] {"--byte", "12"}; break;
+            case "short": argv = new String[] {"--short", "1234"}; break;
+            case "char": argv = new String[] {"--char", "c"}; break;
+            case "boolean": argv = new String[] {"--boolean", "true"}; break;
+            // no value given, so the field is toggled
+            case "toggle": argv = new String[] {"--toggle"}; break;
+            case "boxed": argv = new String[] {"--boxed", "123456"}; break;
+            case "decimal": argv = new String[] {"--decimal", "12345.6789"}; break;
+            case "file": argv = new String[] {"--file", "/tmp/file.txt"}; break;
+            default: throw new IllegalArgumentException(type);
+        }
+    }
+
+    @Benchmark
+    public TypeArgs parse() {
+        TypeArgs args = new TypeArgs();
+        args.parse(argv);
+        return args;
+    }
+}
@@ -0,0 +1,578 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates a reflection free parser for every argument container class that is compiled
+ * with this processor on the annotation processor path. The parser of a container is a
+ * {@code GeneratedParser} named after the container with {@code $StompParser} added, which
+ * switches directly on the option names and assigns the fields without reflection.
+ * 
+ * <p>
+ * 
+ * A parser is only generated when every {@code @Arg} field of the container can be written
+ * from generated code, meaning the fields are not {@code private}, {@code static} or
+ * {@code final}, and are a {@code String}, a primitive or a primitive wrapper. Any other
+ * container is left to be parsed through reflection, and a note saying why is printed.
+ * Records with {@code @Arg} components are skipped without a note, since
+ * {@code RecordParser} parses them.
+ * 
+ * <p>
+ * 
+ * The binary name of every container is also written to {@value #INDEX}, which
+ * {@code Stomp.warmUp()} reads to prepare the containers when the program starts.
+ */
+@SupportedAnnotationTypes({StompProcessor.ARG, StompProcessor.POSITIONAL})
+public class StompProcessor extends AbstractProcessor {
+    static final String STOMP = "io.github.somethinginconspicuous.stomp";
+    static final String ARG = STOMP + ".Arg";
+    static final String NOT_ARG = STOMP + ".NotArg";
+    static final String ARG_FILES = STOMP + ".ArgFiles";
+    static final String ABBREVIATIONS = STOMP + ".Abbreviations";
+    static final String POSITIONAL = STOMP + ".Positional";
+    /** The validation annotations, which only the reflective parser checks. */
+    static final String[] CONSTRAINTS = {STOMP + ".Range", STOMP + ".Pattern", STOMP + ".OneOf", STOMP + ".Exclusive", STOMP + ".Requires"};
+    /** The annotations of tallied fields, which only the reflective parser writes. */
+    static final String[] TALLIES = {STOMP + ".Count", STOMP + ".Flags"};
+    static final String ABSTRACT_ARGS = STOMP + ".AbstractArgs";
+    static final String SUFFIX = "$StompParser";
+    /** The index of every container class, read by {@code Stomp.warmUp()}. */
+    static final String INDEX = "META-INF/stomp/containers";
+
+    /** The binary names of the containers of every round, written to the {@link #INDEX} in the last round. */
+    private final Set<String> index = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Elements elements = processingEnv.getElementUtils();
+        final TypeElement arg = elements.getTypeElement(ARG);
+        if(arg == null){
+            return false; // stomp is not on the class path
+        }
+        if(roundEnv.processingOver()){
+            writeIndex();
+            return false;
+        }
+
+        Set<TypeElement> containers = new LinkedHashSet<>();
+        for (TypeElement annotation : new TypeElement[] {arg, elements.getTypeElement(POSITIONAL)}) {
+            if(annotation == null){
+                continue; // an older stomp without it
+            }
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() == ElementKind.FIELD){
+                    containers.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        final TypeElement abstractArgs = elements.getTypeElement(ABSTRACT_ARGS);
+        for (TypeElement container : containers) {
+            if(container.getKind().name().equals("RECORD")){
+                continue; // parsed by RecordParser, which needs no generated code
+            }
+            if(abstractArgs != null && !container.getModifiers().contains(Modifier.ABSTRACT)
+                    && processingEnv.getTypeUtils().isSubtype(container.asType(), processingEnv.getTypeUtils().erasure(abstractArgs.asType()))){
+                index.add(elements.getBinaryName(container).toString());
+            }
+            if(!hasArgField(container)){
+                continue; // only positional fields, parsed through reflection
+            }
+            List<Field> fields = readFields(container);
+            if(fields != null){
+                write(container, fields);
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasArgField(TypeElement container) {
+        for (VariableElement element : ElementFilter.fieldsIn(container.getEnclosedElements())) {
+            if(mirrorOf(element, ARG) != null){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the {@link #INDEX} of the containers. The containers of an earlier build that
+     * still exist are kept, so the index is whole after an incremental build.
+     */
+    private void writeIndex() {
+        final Filer filer = processingEnv.getFiler();
+        try {
+            FileObject previous = filer.getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(previous.openInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    line = line.trim();
+                    if(!line.isEmpty() && !line.startsWith("#")
+                            && processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null){
+                        index.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // there was no index yet
+        }
+        if(index.isEmpty()){
+            return;
+        }
+
+        try (Writer writer = new OutputStreamWriter(filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX).openOutputStream(), StandardCharsets.UTF_8)) {
+            writer.write("# The argument containers of this module, generated by stomp-processor\n");
+            for (String container : index) {
+                writer.write(container);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.WARNING, "Could not write the index of the argument containers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the argument fields of a container.
+     * 
+     * @return The fields, or {@code null} if no parser can be generated for the container
+     */
+    private List<Field> readFields(TypeElement container) {
+        final Messager messager = processingEnv.getMessager();
+        final TypeElement abstractArgs = processingEnv.getElementUtils().getTypeElement(ABSTRACT_ARGS);
+
+        if(abstractArgs == null || !processingEnv.getTypeUtils().isSubtype(container.asType(), processingEnv.getTypeUtils().erasure(abstractArgs.asType()))){
+            messager.printMessage(Kind.WARNING, "@Arg fields are declared in a class that does not extend AbstractArgs.", container);
+            return null;
+        }
+        String reason = null;
+        if(container.getModifiers().contains(Modifier.ABSTRACT)){
+            reason = "it is abstract";
+        }
+        if(mirrorOf(container, ARG_FILES) != null){
+            reason = "it reads argument files";
+        }
+        if(mirrorOf(container, ABBREVIATIONS) != null){
+            reason = "its options can be abbreviated";
+        }
+        for (Element e = container; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement type = (TypeElement) e;
+            if(type.getModifiers().contains(Modifier.PRIVATE)
+                    || type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS
+                    || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))){
+                reason = "it cannot be reached from a class in its package";
+            }
+        }
+
+        List<Field> fields = new ArrayList<>();
+        Set<String> options = new HashSet<>();
+        for (VariableElement element : ElementFilter.fieldsIn(container.getEnclosedElements())) {
+            AnnotationMirror arga = mirrorOf(element, ARG);
+            if(mirrorOf(element, POSITIONAL) != null){
+                reason = "field \"" + element.getSimpleName() + "\" takes operands";
+                continue;
+            }
+            if(arga == null){
+                if(mirrorOf(element, NOT_ARG) == null){
+                    messager.printMessage(Kind.WARNING, "Field \"" + element.getSimpleName() + "\" is not given the @Arg.", element);
+                }
+                continue;
+            }
+
+            Set<Modifier> modifiers = element.getModifiers();
+            if(modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)){
+                reason = "field \"" + element.getSimpleName() + "\" is private, static or final";
+                continue;
+            }
+            for (String constraint : CONSTRAINTS) {
+                if(mirrorOf(element, constraint) != null){
+                    reason = "field \"" + element.getSimpleName() + "\" has validation constraints";
+                }
+            }
+            for (String tally : TALLIES) {
+                if(mirrorOf(element, tally) != null){
+                    reason = "field \"" + element.getSimpleName() + "\" counts or packs flags";
+                }
+            }
+            Type type = Type.of(element.asType());
+            if(type == null){
+                reason = "field \"" + element.getSimpleName() + "\" is not a String, primitive or primitive wrapper";
+                continue;
+            }
+
+            Field field = new Field(element, type, arga);
+            if(!options.add(field.longName)){
+                messager.printMessage(Kind.WARNING, "Option \"" + field.longName + "\" is already used by another field.", element);
+                field.longName = null;
+            }
+            if(field.shortName != null && !options.add(field.shortName)){
+                messager.printMessage(Kind.WARNING, "Option \"" + field.shortName + "\" is already used by another field.", element);
+                field.shortName = null;
+            }
+            fields.add(field);
+        }
+
+        if(reason != null){
+            messager.printMessage(Kind.NOTE, "No parser was generated for " + container.getQualifiedName() + " because " + reason + ", it will be parsed through reflection.", container);
+            return null;
+        }
+        return fields;
+    }
+
+    private void write(TypeElement container, List<Field> fields) {
+        final Elements elements = processingEnv.getElementUtils();
+        final String packageName = elements.getPackageOf(container).getQualifiedName().toString();
+        final String binaryName = elements.getBinaryName(container).toString();
+        final String parserName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        final String containerName = container.getQualifiedName().toString();
+
+        StringBuilder out = new StringBuilder();
+        if(!packageName.isEmpty()){
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import io.github.somethinginconspicuous.stomp.Diagnostic;\n");
+        out.append("import io.github.somethinginconspicuous.stomp.GeneratedParser;\n");
+        out.append("import io.github.somethinginconspicuous.stomp.ParseResult;\n\n");
+        out.append("/**\n * The parser of {@link ").append(containerName).append("}, generated by stomp-processor.\n */\n");
+        out.append("public final class ").append(parserName).append(" implements GeneratedParser<").append(containerName).append("> {\n");
+        out.append("    @Override\n");
+        out.append("    public void parse(").append(containerName).append(" target, String[] args, int start, int end, ParseResult result) {\n");
+        for (int f = 0; f < fields.size(); f++) {
+            out.append("        boolean matched").append(f).append(" = false;\n");
+            if(fields.get(f).required){
+                out.append("        boolean set").append(f).append(" = false;\n");
+            }
+        }
+        out.append("        String value;\n\n");
+        out.append("        for (int i = start; i < end; i++) {\n");
+        out.append("            final String token = args[i];\n");
+        out.append("            if (token.isEmpty() || token.charAt(0) != '-') {\n");
+        out.append("                continue;\n");
+        out.append("            }\n\n");
+        out.append("            switch (token) {\n");
+        for (int f = 0; f < fields.size(); f++) {
+            Field field = fields.get(f);
+            if(field.longName == null && field.shortName == null){
+                continue;
+            }
+            writeCase(out, field, f);
+        }
+        out.append("                default:\n");
+        writeClusters(out, fields);
+        out.append("                    break;\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        for (int f = 0; f < fields.size(); f++) {
+            Field field = fields.get(f);
+            if(field.required){
+                out.append("\n        if (!set").append(f).append(") {\n");
+                out.append("            result.report(Diagnostic.missingRequired(").append(literal(field.displayName)).append("));\n");
+                out.append("        }\n");
+            }
+        }
+        out.append("    }\n");
+        out.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? parserName : packageName + "." + parserName, container).openWriter()) {
+            writer.write(out.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write the parser of " + containerName + ": " + e.getMessage(), container);
+        }
+    }
+
+    private static void writeCase(StringBuilder out, Field field, int f) {
+        final String target = "target." + field.name;
+        final String set = field.required ? "                    set" + f + " = true;\n" : "";
+
+        if(field.longName != null){
+            out.append("                case ").append(literal(field.longName)).append(":\n");
+        }
+        if(field.shortName != null){
+            out.append("                case ").append(literal(field.shortName)).append(":\n");
+        }
+        out.append("                    if (matched").append(f).append(") {\n");
+        out.append("                        break;\n");
+        out.append("                    }\n");
+        out.append("                    matched").append(f).append(" = true;\n");
+        out.append("                    if (i == args.length - 1) {\n");
+        if(field.type == Type.BOOLEAN && !field.boxed){
+            out.append("                        ").append(target).append(" = !").append(target).append(";\n");
+            out.append(set.replace("                    ", "                        "));
+            out.append("                        break;\n");
+        } else {
+            out.append("                        result.report(Diagnostic.missingValue(").append(literal(field.displayName)).append(", i));\n");
+            out.append("                        break;\n");
+        }
+        out.append("                    }\n");
+        out.append("                    value = args[i + 1];\n");
+
+        switch (field.type) {
+            case STRING:
+                out.append("                    ").append(target).append(" = value;\n");
+                break;
+            case CHAR:
+                out.append("                    if (value.isEmpty()) {\n");
+                out.append("                        result.report(Diagnostic.invalidValue(").append(literal(field.displayName)).append(", value, \"char\", i + 1));\n");
+                out.append("                        break;\n");
+                out.append("                    }\n");
+                out.append("                    ").append(target).append(" = value.charAt(0);\n");
+                break;
+            case BOOLEAN:
+                //If no value is given, do the opposite of the defualt
+                out.append("                    ").append(target).append(" = value.startsWith(\"-\") ? ")
+                        .append(field.boxed ? "!Boolean.TRUE.equals(" + target + ")" : "!" + target)
+                        .append(" : Boolean.parseBoolean(value);\n");
+                break;
+            default:
+                out.append("                    try {\n");
+                out.append("                        ").append(target).append(" = ").append(field.type.parser).append("(value);\n");
+                out.append("                    } catch (NumberFormatException e) {\n");
+                out.append("                        result.report(Diagnostic.invalidValue(").append(literal(field.displayName))
+                        .append(", value, \"").append(field.type.name).append("\", i + 1));\n");
+                out.append("                        break;\n");
+                out.append("                    }\n");
+                break;
+        }
+        out.append(set);
+        out.append("                    break;\n");
+    }
+
+    /**
+     * Writes the decoding of clustered short booleans, such as {@code -xvf}, which are
+     * only taken if every letter is the short option of a boolean.
+     */
+    private static void writeClusters(StringBuilder out, List<Field> fields) {
+        StringBuilder letters = new StringBuilder();
+        StringBuilder cases = new StringBuilder();
+        for (int f = 0; f < fields.size(); f++) {
+            Field field = fields.get(f);
+            if(field.type != Type.BOOLEAN || field.shortName == null || field.shortName.length() != 2){
+                continue;
+            }
+            final char letter = field.shortName.charAt(1);
+            if(letter <= ' ' || letter >= 127 || letter == '-'){
+                continue;
+            }
+            final String target = "target." + field.name;
+            letters.append(letter);
+            cases.append("                            case ").append(letter == '\'' || letter == '\\' ? "'\\" + letter + "'" : "'" + letter + "'").append(":\n");
+            cases.append("                                if (!matched").append(f).append(") {\n");
+            cases.append("                                    matched").append(f).append(" = true;\n");
+            cases.append("                                    ").append(target).append(" = ")
+                    .append(field.boxed ? "!Boolean.TRUE.equals(" + target + ")" : "!" + target).append(";\n");
+            if(field.required){
+                cases.append("                                    set").append(f).append(" = true;\n");
+            }
+            cases.append("                                }\n");
+            cases.append("                                break;\n");
+        }
+        if(letters.length() == 0){
+            return;
+        }
+
+        out.append("                    if (token.length() < 2 || token.charAt(1) == '-') {\n");
+        out.append("                        break;\n");
+        out.append("                    }\n");
+        out.append("                    int c = 1;\n");
+        out.append("                    while (c < token.length() && ").append(literal(letters.toString())).append(".indexOf(token.charAt(c)) >= 0) {\n");
+        out.append("                        c++;\n");
+        out.append("                    }\n");
+        out.append("                    if (c < token.length()) {\n");
+        out.append("                        break;\n");
+        out.append("                    }\n");
+        out.append("                    for (c = 1; c < token.length(); c++) {\n");
+        out.append("                        switch (token.charAt(c)) {\n");
+        out.append(cases);
+        out.append("                            default:\n");
+        out.append("                                break;\n");
+        out.append("                        }\n");
+        out.append("                    }\n");
+    }
+
+    private static AnnotationMirror mirrorOf(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if(((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)){
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes a string as a Java string literal.
+     */
+    static String literal(String s) {
+        StringBuilder out = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if(c < 0x20 || c > 0x7e){
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    /**
+     * The value types a generated parser can write.
+     */
+    enum Type {
+        STRING(null, null),
+        INT("int", "Integer.parseInt"),
+        FLOAT("float", "Float.parseFloat"),
+        LONG("long", "Long.parseLong"),
+        DOUBLE("double", "Double.parseDouble"),
+        BYTE("byte", "Byte.parseByte"),
+        SHORT("short", "Short.parseShort"),
+        CHAR("char", null),
+        BOOLEAN("boolean", null);
+
+        final String name;
+        final String parser;
+
+        Type(String name, String parser) {
+            this.name = name;
+            this.parser = parser;
+        }
+
+        static Type of(TypeMirror mirror) {
+            switch (mirror.getKind()) {
+                case INT: return INT;
+                case FLOAT: return FLOAT;
+                case LONG: return LONG;
+                case DOUBLE: return DOUBLE;
+                case BYTE: return BYTE;
+                case SHORT: return SHORT;
+                case CHAR: return CHAR;
+                case BOOLEAN: return BOOLEAN;
+                case DECLARED: break;
+                default: return null;
+            }
+            switch (((TypeElement) ((DeclaredType) mirror).asElement()).getQualifiedName().toString()) {
+                case "java.lang.String": return STRING;
+                case "java.lang.Integer": return INT;
+                case "java.lang.Float": return FLOAT;
+                case "java.lang.Long": return LONG;
+                case "java.lang.Double": return DOUBLE;
+                case "java.lang.Byte": return BYTE;
+                case "java.lang.Short": return SHORT;
+                case "java.lang.Character": return CHAR;
+                case "java.lang.Boolean": return BOOLEAN;
+                default: return null;
+            }
+        }
+    }
+
+    /**
+     * An {@code @Arg} field, read from its annotation in the same way as the runtime does.
+     */
+    static final class Field {
+        final String name;
+        final Type type;
+        final boolean boxed;
+        final boolean required;
+        /** The long option used in messages, even if it was taken by another field. */
+        final String displayName;
+        String longName;
+        String shortName;
+
+        Field(VariableElement element, Type type, AnnotationMirror arga) {
+            this.name = element.getSimpleName().toString();
+            this.type = type;
+            this.boxed = element.asType().getKind() == TypeKind.DECLARED && type != Type.STRING;
+
+            String longName = "";
+            String shortName = "";
+            boolean required = false;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : arga.getElementValues().entrySet()) {
+                String key = entry.getKey().getSimpleName().toString();
+                Object value = entry.getValue().getValue();
+                if(key.equals("longName")){
+                    longName = (String) value;
+                } else if(key.equals("shortName")){
+                    shortName = (String) value;
+                } else if(key.equals("required")){
+                    required = (Boolean) value;
+                }
+            }
+
+            this.longName = "--" + (longName.isEmpty() ? name : longName); // Default to field name
+            this.shortName = shortName.isEmpty() ? null : "-" + shortName; // no defualt for short version
+            this.required = required;
+            this.displayName = this.longName;
+        }
+    }
+}
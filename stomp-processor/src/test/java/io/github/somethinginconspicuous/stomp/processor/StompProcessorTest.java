@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.lang.model.SourceVersion;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.somethinginconspicuous.stomp.AbstractArgs;
+import io.github.somethinginconspicuous.stomp.Arg;
+import io.github.somethinginconspicuous.stomp.Diagnostic;
+import io.github.somethinginconspicuous.stomp.ParseResult;
+
+/**
+ * Checks that the parsers generated for the containers below parse every argument vector
+ * exactly like the reflective parser does.
+ */
+public class StompProcessorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Mixed extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg(required = true)
+        public int count;
+        @Arg(shortName = "v")
+        public boolean verbose;
+        @Arg
+        public Boolean flag;
+        @Arg
+        public long size = 5;
+        @Arg
+        public double ratio;
+        @Arg
+        public Integer boxed;
+        @Arg
+        public char letter;
+        @Arg(longName = "byte")
+        public byte small;
+    }
+
+    public static class Clustered extends AbstractArgs {
+        @Arg(shortName = "x")
+        public boolean extract;
+        @Arg(shortName = "v")
+        public boolean verbose;
+        @Arg(shortName = "f")
+        public Boolean force;
+        @Arg(shortName = "o")
+        public String out;
+    }
+
+    private static final String[] TOKENS = {
+        "--name", "-n", "--count", "--verbose", "-v", "--flag", "--size", "--ratio", "--boxed",
+        "--letter", "--byte", "-x", "-f", "-o", "--out", "-xv", "-vf", "-xq", "-fx", "--extract",
+        "--force", "--unknown", "--", "-", "", "true", "false", "TRUE", "0", "1", "-1", "42",
+        "3.5", "1e3", "x", "abc", "127", "128", "9223372036854775807", "99999999999", "a b"
+    };
+
+    @Test
+    public void generatesParsers() throws ClassNotFoundException {
+        assertNotNull(Class.forName(Mixed.class.getName() + "$StompParser"));
+        assertNotNull(Class.forName(Clustered.class.getName() + "$StompParser"));
+    }
+
+    @Test
+    public void parsesKnownCasesLikeReflection() throws Exception {
+        check(Mixed.class, "--count", "3", "--name", "a", "-v");
+        check(Mixed.class, "--count", "3", "--count", "4", "--flag", "false");
+        check(Mixed.class, "--name", "--count", "--count", "2");
+        check(Mixed.class, "--size", "x", "--ratio", "1e3", "--boxed", "-1");
+        check(Mixed.class, "--letter", "ab", "--byte", "128", "--count");
+        check(Mixed.class);
+        check(Clustered.class, "-xvf", "-o", "out");
+        check(Clustered.class, "-xq", "-fx", "--force", "false");
+        check(Clustered.class, "-o", "-xv");
+    }
+
+    @Test
+    public void parsesRandomArgumentsLikeReflection() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String[] args = new String[random.nextInt(8)];
+            for (int j = 0; j < args.length; j++) {
+                args[j] = TOKENS[random.nextInt(TOKENS.length)];
+            }
+            check(i % 2 == 0 ? Mixed.class : Clustered.class, args);
+        }
+    }
+
+    @Test
+    public void skipsRecordsWithoutWarnings() throws IOException {
+        try {
+            SourceVersion.valueOf("RELEASE_16");
+        } catch (IllegalArgumentException e) {
+            Assume.assumeNoException(e); // no records before Java 16
+        }
+        final File out = folder.newFolder();
+        final String stomp = new File(Arg.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///example/Server.java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return "package example;\n"
+                        + "import io.github.somethinginconspicuous.stomp.Arg;\n"
+                        + "public record Server(@Arg(shortName = \"p\") int port, @Arg String host) {}\n";
+            }
+        };
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        CompilationTask task = compiler.getTask(null, null, diagnostics,
+                Arrays.asList("-Werror", "-classpath", stomp, "-d", out.getPath()), null, Arrays.asList(source));
+        task.setProcessors(Arrays.asList(new StompProcessor()));
+
+        assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+        assertEquals(Collections.emptyList(), diagnostics.getDiagnostics());
+        assertFalse(new File(out, "example/Server" + StompProcessor.SUFFIX + ".class").exists());
+    }
+
+    private static void check(Class<? extends AbstractArgs> type, String... args) throws Exception {
+        AbstractArgs generated = type.newInstance();
+        ParseResult generatedResult = generated.tryParse(args);
+        AbstractArgs reflective = new Reflective().loadClass(type.getName()).asSubclass(AbstractArgs.class).newInstance();
+        assertNotSame(type, reflective.getClass());
+        ParseResult reflectiveResult = reflective.tryParse(args);
+
+        String message = Arrays.toString(args);
+        assertEquals(message, describe(reflectiveResult), describe(generatedResult));
+        for (Field field : type.getDeclaredFields()) {
+            Field other = reflective.getClass().getDeclaredField(field.getName());
+            assertEquals(message + " " + field.getName(), other.get(reflective), field.get(generated));
+        }
+    }
+
+    private static List<String> describe(ParseResult result) {
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic error : result.errors()) {
+            errors.add(error.code() + "@" + error.index());
+        }
+        return errors;
+    }
+
+    /**
+     * Loads the containers of this test again, without their generated parsers, so they
+     * are parsed through reflection.
+     */
+    private static final class Reflective extends ClassLoader {
+        Reflective() {
+            super(StompProcessorTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(name.endsWith(StompProcessor.SUFFIX)){
+                throw new ClassNotFoundException(name);
+            }
+            if(!name.startsWith(StompProcessorTest.class.getName() + "$")){
+                return super.loadClass(name, resolve);
+            }
+            synchronized (this) {
+                Class<?> type = findLoadedClass(name);
+                if(type == null){
+                    byte[] bytes = read(name.replace('.', '/') + ".class");
+                    type = defineClass(name, bytes, 0, bytes.length);
+                }
+                return type;
+            }
+        }
+
+        private byte[] read(String resource) throws ClassNotFoundException {
+            try (InputStream in = getParent().getResourceAsStream(resource)) {
+                if(in == null){
+                    throw new ClassNotFoundException(resource);
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[4096];
+                for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(resource, e);
+            }
+        }
+    }
+}
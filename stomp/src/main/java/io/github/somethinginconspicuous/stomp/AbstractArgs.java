@@ -24,10 +24,9 @@
 
 package io.github.somethinginconspicuous.stomp;
 
-import static java.lang.String.format;
-
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.util.EnumSet;
+import java.util.List;
 
 import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
 import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentFieldException;
@@ -36,8 +35,16 @@ import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentE
 /**
  * A class that extends {@link AbstractArgs} will be able to act as a container for argument
  * fields.
+ * 
+ * <p>
+ * 
+ * Containers are parsed through reflection, unless the {@code stomp-processor} annotation
+ * processor generated a {@link GeneratedParser} for them at compile time.
  */
 public abstract class AbstractArgs {
+    /** The value that makes a boolean toggle, as an option after it does. */
+    private static final String TOGGLE = "-";
+
     /**
      * Parse an argument vector (array of strings) into fields of a class that corrospond
      * to the arguments using options to circumvent order.
@@ -145,282 +152,824 @@ public abstract class AbstractArgs {
      * @see Arg
      */
     public final void parse(String[] args, int start, int end) {
-        Field[] fields = getClass().getDeclaredFields();
+        parse(args, start, end, ParseResult.THROWING);
+    }
 
-        for (int i = 0; i < fields.length; i++) {
-            Arg arga = fields[i].getAnnotation(Arg.class);
+    /**
+     * Gives every {@link Arg} field the value it has in a new instance of this class, so
+     * this instance can be parsed into again. The defaults are taken from one instance
+     * that is created the first time the class is reset, so resetting creates no objects.
+     * 
+     * <p>
+     * 
+     * Default values that are objects, such as arrays, are shared with every reset
+     * instance, and should not be changed.
+     * 
+     * @throws IllegalArgumentClassException if this class has no constructor without parameters
+     */
+    public final void reset() {
+        Defaults.of(getClass()).reset(this);
+    }
 
-            if(arga == null){
-                if(fields[i].getAnnotation(NotArg.class) == null){
-                    new IllegalArgumentFieldException(format("Field \"%s\" is not given the @%s.", fields[i], Arg.class)).printStackTrace();
-                }
-                continue;
+    /**
+     * Parse an argument vector (array of strings) into fields of a class that corrospond
+     * to the arguments, in the same way as {@link #parse(String[])}, but collect every
+     * error in the arguments instead of throwing the first one.
+     * 
+     * @param args The raw given arguments for the program to parse. This should
+     * contain the options and their values
+     * @return The errors found in the arguments, and the warnings about this class
+     * 
+     * @see #tryParse(String[], int, int)
+     */
+    public final ParseResult tryParse(String[] args) {
+        return tryParse(args, 0, args.length);
+    }
+
+    /**
+     * Parse an argument vector (array of strings) into fields of a class that corrospond
+     * to the arguments, in the same way as {@link #parse(String[], int, int)}, but collect
+     * every error in the arguments instead of throwing the first one.
+     * 
+     * <p>
+     * 
+     * Fields whose options were given valid values are still set when other options
+     * have errors.
+     * 
+     * @param args The raw given arguments for the program to parse. This should
+     * contain the options and their values
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The errors found in the arguments, and the warnings about this class
+     * 
+     * @see ParseResult#throwIfFailed()
+     */
+    public final ParseResult tryParse(String[] args, int start, int end) {
+        final ParseResult result = ParseResult.collecting(getClass());
+        parse(args, start, end, result);
+        return result;
+    }
+
+    /**
+     * Parse an argument vector into fields of a class, in the same way as
+     * {@link #parse(String[])}, giving the options that are not in the arguments their
+     * values from {@code sources}.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @throws IllegalCommandArgumentException if the arguments or sources have an error
+     * 
+     * @see ArgSources
+     */
+    public final void parse(String[] args, ArgSources sources) {
+        parse(args, 0, args.length, sources, ParseResult.THROWING);
+    }
+
+    /**
+     * Parse an argument vector into fields of a class, in the same way as
+     * {@link #parse(String[], ArgSources)}, but collect every error instead of throwing
+     * the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @return The errors found in the arguments and sources, and the warnings about this class
+     */
+    public final ParseResult tryParse(String[] args, ArgSources sources) {
+        final ParseResult result = ParseResult.collecting(getClass());
+        parse(args, 0, args.length, sources, result);
+        return result;
+    }
+
+    /**
+     * Parse a whole command line into fields of a class, in the same way as
+     * {@link #parse(String[])}. The line is split into arguments the way a shell would:
+     * by whitespace, with {@code '} and {@code "} quotes and {@code \} escapes.
+     * 
+     * <p>
+     * 
+     * The arguments are never copied out of the line; options are matched against the
+     * line's characters and only the values given to fields become strings. A
+     * {@link java.nio.CharBuffer CharBuffer} with a backing array is read in place.
+     * 
+     * @param line The command line, without the name of the program
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     */
+    public final void parse(CharSequence line) {
+        parse(line, null, ParseResult.THROWING);
+    }
+
+    /**
+     * Parse a whole UTF-8 command line, such as one read from a socket, in the same way
+     * as {@link #parse(CharSequence)}. The line is decoded once, and the position of
+     * {@code utf8} is not changed.
+     * 
+     * @param utf8 The command line, without the name of the program
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     */
+    public final void parse(ByteBuffer utf8) {
+        parse(null, utf8, ParseResult.THROWING);
+    }
+
+    /**
+     * Parse a whole command line in the same way as {@link #parse(CharSequence)}, but
+     * collect every error instead of throwing the first one.
+     * 
+     * @param line The command line, without the name of the program
+     * @return The errors found in the arguments, and the warnings about this class
+     */
+    public final ParseResult tryParse(CharSequence line) {
+        final ParseResult result = ParseResult.collecting(getClass());
+        parse(line, null, result);
+        return result;
+    }
+
+    /**
+     * Parse a whole UTF-8 command line in the same way as {@link #parse(ByteBuffer)}, but
+     * collect every error instead of throwing the first one.
+     * 
+     * @param utf8 The command line, without the name of the program
+     * @return The errors found in the arguments, and the warnings about this class
+     */
+    public final ParseResult tryParse(ByteBuffer utf8) {
+        final ParseResult result = ParseResult.collecting(getClass());
+        parse(null, utf8, result);
+        return result;
+    }
+
+    /**
+     * Split a command line, given as either {@code line} or {@code utf8}, and parse it,
+     * reporting every error to {@code result}.
+     */
+    private void parse(CharSequence line, ByteBuffer utf8, ParseResult result) {
+        final ParseListener[] listeners = Instrumentation.listeners();
+        final ParseTrace trace = listeners.length == 0 ? null : new ParseTrace(getClass(), listeners, 0);
+        boolean succeeded = false;
+        try {
+            final ArgSchema schema = ArgSchema.of(getClass());
+            if(trace != null){
+                trace.schemaFound();
+            }
+            final ArgVector args = line != null ? ArgVector.split(line, schema.argFiles, result)
+                    : ArgVector.split(utf8, schema.argFiles, result);
+            if(trace != null){
+                trace.split(args.size());
+            }
+            scan(schema, this, args, null, result, trace);
+            succeeded = result.isSuccess();
+        } finally {
+            if(trace != null){
+                trace.finished(succeeded);
             }
-            setField(args, start, end, fields[i], arga);
         }
-        
-        //System.out.println("Parse finished");
     }
-    
-    private void setField(String[] args, int start, int end, Field field, Arg arga) {
-        final String longName = getLongNameFrom(field, arga);
-    
-        final String shortName = getShortNameFrom(arga);
 
-        boolean fieldWasSet = false;
-        for(int i = start; i < end; i++){
-            
-            if(args[i].equals(longName) || args[i].equals(shortName)){
-                
-                boolean tempAccessable;
-                try{
-                    tempAccessable = field.canAccess(this);
-                } catch (IllegalArgumentException e){
-                    tempAccessable = field.canAccess(null);
-                    new IllegalArgumentFieldException(format("WARNING: argument fields (\"%s\") should not be static", field)).printStackTrace();
+    /**
+     * Parse a split command line, reporting every error to {@code result}.
+     */
+    final void parse(ArgVector line, ParseResult result) {
+        final ParseListener[] listeners = Instrumentation.listeners();
+        final ArgSchema schema = ArgSchema.of(getClass());
+        if(listeners.length == 0){
+            scan(schema, this, line, null, result, null);
+            return;
+        }
+
+        final ParseTrace trace = new ParseTrace(getClass(), listeners, line.size());
+        boolean succeeded = false;
+        try {
+            trace.schemaFound();
+            scan(schema, this, line, null, result, trace);
+            succeeded = result.isSuccess();
+        } finally {
+            trace.finished(succeeded);
+        }
+    }
+
+    /**
+     * Parse the arguments, reporting every error to {@code result}.
+     */
+    final void parse(String[] args, int start, int end, ParseResult result) {
+        parse(args, start, end, null, result);
+    }
+
+    /**
+     * Parse the arguments, then the sources, reporting every error to {@code result}.
+     * 
+     * @param sources The sources, or {@code null} if there are none
+     */
+    final void parse(String[] args, int start, int end, ArgSources sources, ParseResult result) {
+        final ParseListener[] listeners = Instrumentation.listeners();
+        if(listeners.length == 0){
+            parse(args, start, end, sources, result, null);
+            return;
+        }
+
+        final ParseTrace trace = new ParseTrace(getClass(), listeners, end - start);
+        boolean succeeded = false;
+        try {
+            parse(args, start, end, sources, result, trace);
+            succeeded = result.isSuccess();
+        } finally {
+            trace.finished(succeeded);
+        }
+    }
+
+    /**
+     * @param trace The trace to time the parse with, or {@code null} to parse without
+     * telling the {@link Instrumentation} listeners, as a warm-up does
+     */
+    final void parse(String[] args, int start, int end, ArgSources sources, ParseResult result, ParseTrace trace) {
+        final GeneratedParser<AbstractArgs> generated = GeneratedParsers.of(getClass());
+        if(generated != null && (sources == null || sources.isEmpty())){
+            if(trace != null){
+                trace.generated();
+            }
+            generated.parse(this, args, start, end, result);
+            return;
+        }
+
+        final ArgSchema schema = ArgSchema.of(getClass());
+        if(trace != null){
+            trace.schemaFound();
+        }
+        parse(schema, this, args, start, end, sources, result, trace);
+    }
+
+    /**
+     * Parses the arguments into {@code target}, expanding any argument files first.
+     * 
+     * @param target The container, or the values of the components of a record
+     */
+    static void parse(ArgSchema schema, Object target, String[] args, int start, int end, ArgSources sources, ParseResult result, ParseTrace trace) {
+        final ArgVector vector;
+        if(schema.argFiles && ArgVector.hasArgFiles(args, start, end)){
+            vector = ArgVector.expand(args, start, end, result);
+            if(trace != null){
+                trace.split(vector.end);
+            }
+        } else {
+            vector = ArgVector.of(args, start, end);
+        }
+        scan(schema, target, vector, sources, result, trace);
+    }
+
+    /**
+     * Parses the arguments in a single pass, whether they were given directly, read from
+     * argument files or split from a command line.
+     */
+    private static void scan(ArgSchema schema, Object target, ArgVector args, ArgSources sources, ParseResult result, ParseTrace trace) {
+        // one bit per binding: "matched" bindings ignore later occurrences of their
+        // option, "set" bindings have been given a value
+        final long[] matched = new long[schema.bitWords];
+        final long[] set = new long[schema.bitWords];
+        // the index of the last value taken by an option, which is never an unknown option
+        int consumed = -1;
+        // the values of array and collection options, which are written when the pass ends
+        Accumulator[] accumulators = null;
+        // the counts and flag bits of tallied options, which are also written when the pass ends
+        final long[] tallies = schema.tallied ? new long[schema.bindings.length] : null;
+        // the arguments that are not options, if there are positional fields to take them
+        final Operands operands = schema.positionals == null ? null : new Operands();
+
+        for (int i = args.start; i < args.end; i++) {
+            if(!args.isOption(i)){
+                if(operands != null && i != consumed){
+                    operand(schema, target, operands, args.array(), i, args.string(i), args.origin(i), set, result, trace);
                 }
-                field.setAccessible(true);
-
-                if(i == args.length - 1){
-                    if(field.getType() == boolean.class){
-                        try {
-                            field.set(this, !field.getBoolean(this));
-                            fieldWasSet = true;
-                        } catch (IllegalArgumentException e) {
-                            e.printStackTrace();
-                        } catch (IllegalAccessException e) {
-                            e.printStackTrace();
-                        }
+                continue;
+            }
 
+            OptionBinding binding = args.lookup(schema.options, i);
+            if(binding == null){
+                if(schema.clusters != null && cluster(schema, target, args.string(i), matched, set, tallies)){
+                    continue;
+                }
+                if(operands != null && i != consumed){
+                    final String token = args.string(i);
+                    if(token.equals("--")){
+                        passthrough(schema, target, operands, args, i + 1, set, result, trace);
                         break;
                     }
-                    
-                    throw new IllegalCommandArgumentException(format("No given value found for argument %s.", longName));
-                }
-                
-                final Class<?> argType = field.getType();
-                //.println(argType);
-                
-                //SECTION - string parse
-                if(argType == String.class){
-                    try {
-                        field.set(this, args[++i]);
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
+                    if(token.isEmpty() || token.charAt(0) != '-' || isOperand(token)){
+                        operand(schema, target, operands, args.array(), i, token, args.origin(i), set, result, trace);
+                        continue;
                     }
-                    break;
                 }
-                //!SECTION
-
-                //SECTION - int parse
-                if(argType == int.class || argType == Integer.class){
-                    try {
-                        field.set(this, Integer.parseInt(args[++i]));
-                        //fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to int value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+                if(schema.abbreviations == null || i == consumed
+                        || (binding = abbreviation(schema.abbreviations, args.string(i), args.origin(i), result)) == null){
+                    continue;
                 }
-                //!SECTION
-
-                //SECTION - float parse
-                if(argType == float.class || argType == Float.class){
-                    try {
-                        field.set(this, Float.parseFloat(args[++i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to float value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+            }
+            if(binding.takesValue || (operands != null && !binding.count && i + 1 < args.end && isBooleanLiteral(args.string(i + 1)))){
+                consumed = i + 1;
+            }
+
+            final int word = binding.index >>> 6;
+            final long bit = 1L << binding.index;
+            if((matched[word] & bit) != 0){
+                continue;
+            }
+            if(binding.firstOnly){
+                matched[word] |= bit;
+            }
+
+            // with positional fields, a boolean followed by an operand toggles, and only
+            // the values that are used are copied out of a file or line
+            final String value = i == args.size() - 1 ? null
+                    : operands != null && !binding.takesValue && consumed != i + 1 ? TOGGLE : args.string(i + 1);
+            final int valueIndex = i == args.size() - 1 ? -1 : args.origin(i + 1);
+            if(binding.count){
+                tallies[binding.index]++;
+                set[word] |= bit;
+                continue;
+            }
+            if(binding.flags != null){
+                if(tally(binding, value, args.origin(i), valueIndex, tallies, result)){
+                    set[word] |= bit;
                 }
-                //!SECTION
-
-                //SECTION - long parse
-                if(argType == long.class || argType == Long.class){
-                    try {
-                        field.set(this, Long.parseLong(args[++i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to long value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+                continue;
+            }
+            if(binding.elementType != null && accumulators == null){
+                accumulators = new Accumulator[schema.bindings.length];
+            }
+            if(give(target, binding, value, args.origin(i), valueIndex, accumulators, result, trace)){
+                set[word] |= bit;
+            }
+        }
+
+        if(operands != null){
+            writeOperands(schema, target, operands, set);
+        }
+        finish(schema, target, matched, set, accumulators, tallies, sources, result, trace);
+    }
+
+    /**
+     * Gives the options that were not in the arguments their values from {@code sources},
+     * writes the array, collection and tallied fields, and checks the required options.
+     */
+    private static void finish(ArgSchema schema, Object target, long[] matched, long[] set, Accumulator[] accumulators, long[] tallies, ArgSources sources, ParseResult result, ParseTrace trace) {
+        if(sources != null && !sources.isEmpty()){
+            for (OptionBinding binding : schema.bindings) {
+                final int word = binding.index >>> 6;
+                final long bit = 1L << binding.index;
+                if(((matched[word] | set[word]) & bit) != 0 || (accumulators != null && accumulators[binding.index] != null)){
+                    continue; // given as an argument
                 }
-                //!SECTION
-
-                //SECTION - double parse
-                if(argType == double.class || argType == Double.class){
-                    try {
-                        field.set(this, Double.parseDouble(args[++i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to double value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+                final String value = sources.valueOf(binding);
+                if(value == null){
+                    continue;
                 }
-                //!SECTION
-
-                //SECTION - byte parse
-                if(argType == byte.class || argType == Byte.class){
-                    try {
-                        field.set(this, Byte.parseByte(args[++i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to byte value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
+                if(binding.count || binding.flags != null){
+                    if(tally(binding, value, -1, -1, tallies, result)){
+                        set[word] |= bit;
                     }
-                    break;
+                    continue;
                 }
-                //!SECTION
-
-                //SECTION - short parse
-                if(argType == short.class || argType == Short.class){
-                    try {
-                        field.set(this, Short.parseShort(args[++i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (NumberFormatException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to short value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+                if(binding.elementType != null && accumulators == null){
+                    accumulators = new Accumulator[schema.bindings.length];
                 }
-                //!SECTION
-
-                //SECTION - char parse
-                if(argType == char.class || argType == Character.class){
-                    try {
-                        field.set(this, args[++i].charAt(0));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (IndexOutOfBoundsException e) {
-                        throw new IllegalCommandArgumentException(format("Cannot convert argument \"%s\" to char value", args[i]));
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
-                }
-                //!SECTION
-
-                //SECTION - bool parse
-                if(argType == boolean.class || argType == Boolean.class){
-                    //If no value is given, do the opposite of the defualt
-                    if(args[++i].startsWith("-")){
-                        try {
-                            field.set(this, !field.getBoolean(this));
-                            fieldWasSet = true;
-                        } catch (IllegalArgumentException e) {
-                            e.printStackTrace();
-                        } catch (IllegalAccessException e) {
-                            new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                        } finally {
-                            field.setAccessible(tempAccessable);
-                        }
-                        break;
-                    }
-                    try {
-                        field.set(this, Boolean.parseBoolean(args[i]));
-                        fieldWasSet = true;
-                        //System.out.format("Set field %s to value %s\n", field, args[i]);
-                    } catch (IllegalArgumentException e) {
-                        e.printStackTrace();
-                    } catch (IllegalAccessException e) {
-                        new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                    } finally {
-                        field.setAccessible(tempAccessable);
-                    }
-                    break;
+                if(give(target, binding, value, -1, -1, accumulators, result, trace)){
+                    set[word] |= bit;
                 }
-                //!SECTION
-
-                //SECTION - Object parse
-                try {
-                    field.set(this, argType.getConstructor(String.class).newInstance((args[i + 1])));
-                    fieldWasSet = true;
-                } catch (IllegalAccessException e) {
-                    new IllegalArgumentFieldException(format("Field \"%s\" is not writable.", field)).printStackTrace();
-                } catch (IllegalArgumentException e) {
-                    e.printStackTrace();
-                } catch (InvocationTargetException e) {
-                    e.getCause().printStackTrace();
-                } catch (InstantiationException | NoSuchMethodException e) {
-                    new IllegalArgumentFieldException(format("Field \"%s\" is unable to be constucted from a string.", field)).printStackTrace();
-                } finally {
-                    field.setAccessible(tempAccessable);
+            }
+        }
+
+        if(accumulators != null){
+            writeAccumulated(target, accumulators, schema);
+        }
+        if(tallies != null){
+            writeTallies(target, tallies, set, schema);
+        }
+        if(trace != null){
+            trace.scanned();
+        }
+        checkRequired(schema, set, result);
+        if(schema.constraints != null){
+            schema.constraints.check(target, set, result);
+        }
+        if(trace != null){
+            trace.checked();
+        }
+    }
+
+    /**
+     * Gives the field of {@code binding} a value, timing it if there is a trace.
+     * 
+     * @return If the field was given the value
+     */
+    private static boolean give(Object target, OptionBinding binding, String value, int index, int valueIndex, Accumulator[] accumulators, ParseResult result, ParseTrace trace) {
+        if(trace == null){
+            return binding.elementType != null
+                    ? accumulate(binding, value, index, valueIndex, accumulators, result)
+                    : setField(target, binding, value, index, valueIndex, result);
+        }
+
+        final long started = System.nanoTime();
+        boolean given = false;
+        try {
+            given = binding.elementType != null
+                    ? accumulate(binding, value, index, valueIndex, accumulators, result)
+                    : setField(target, binding, value, index, valueIndex, result);
+            return given;
+        } finally {
+            trace.converted(binding, started, given);
+        }
+    }
+
+    /**
+     * Adds the value that follows the option of an array or collection field to the
+     * values of that field.
+     * 
+     * @return If every value was added. If one was not, none of them are
+     */
+    private static boolean accumulate(OptionBinding binding, String value, int index, int valueIndex, Accumulator[] accumulators, ParseResult result) {
+        if(binding.writer == null || !binding.convertible){
+            return false; // reported when the schema was built
+        }
+        if(value == null){
+            result.report(Diagnostic.missingValue(binding.longName, index));
+            return false;
+        }
+
+        Accumulator accumulator = accumulators[binding.index];
+        if(accumulator == null){
+            accumulator = accumulators[binding.index] = Accumulator.of(binding);
+        }
+
+        final String separator = binding.separator;
+        final int size = accumulator.size;
+        int start = 0;
+        while (true) {
+            final int end = separator == null ? -1 : value.indexOf(separator, start);
+            try {
+                accumulator.add(value, start, end < 0 ? value.length() : end);
+            } catch (Exception e) {
+                accumulator.truncate(size);
+                result.report(Diagnostic.invalidValue(binding.longName, Accumulator.piece(value, start, end < 0 ? value.length() : end),
+                        binding.elementType.getSimpleName(), valueIndex, e instanceof NumberFormatException ? null : e));
+                return false;
+            }
+            if(end < 0){
+                return true;
+            }
+            start = end + separator.length();
+        }
+    }
+
+    /**
+     * Writes the values of every array and collection option that was given.
+     */
+    private static void writeAccumulated(Object target, Accumulator[] accumulators, ArgSchema schema) {
+        for (int i = 0; i < accumulators.length; i++) {
+            if(accumulators[i] != null && accumulators[i].size > 0){
+                schema.bindings[i].writer.setObject(target, accumulators[i].build());
+            }
+        }
+    }
+
+    /**
+     * Gives an argument that is not an option to the {@link Positional} field of its
+     * position, or adds it to the rest of the operands.
+     * 
+     * @param source The argument vector the operand is at {@code index} of, or {@code null}
+     * if it was read from a file
+     * @param origin The index of the operand in the given arguments
+     */
+    private static void operand(ArgSchema schema, Object target, Operands operands, String[] source, int index, String operand, int origin, long[] set, ParseResult result, ParseTrace trace) {
+        final int position = operands.count++;
+        if(position < schema.positionals.length && schema.positionals[position] != null){
+            final OptionBinding binding = schema.positionals[position];
+            if(give(target, binding, operand, origin, origin, null, result, trace)){
+                set[binding.index >>> 6] |= 1L << binding.index;
+            }
+            return;
+        }
+        if(position < schema.positionals.length || schema.operands == null){
+            result.report(Diagnostic.unexpectedOperand(operand, origin));
+            return;
+        }
+        operands.add(source, index, operand);
+    }
+
+    /**
+     * Gives the arguments after {@code --} to the passthrough field, as a view of the
+     * given arguments if they were not read from a file, or treats them as operands if
+     * there is no passthrough field.
+     */
+    private static void passthrough(ArgSchema schema, Object target, Operands operands, ArgVector args, int start, long[] set, ParseResult result, ParseTrace trace) {
+        final OptionBinding binding = schema.passthrough;
+        if(binding != null){
+            binding.writer.setObject(target, args.list(start));
+            set[binding.index >>> 6] |= 1L << binding.index;
+            return;
+        }
+        for (int i = start; i < args.end; i++) {
+            operand(schema, target, operands, args.array(), i, args.string(i), args.origin(i), set, result, trace);
+        }
+    }
+
+    /**
+     * Writes the operands that no positioned field took.
+     */
+    private static void writeOperands(ArgSchema schema, Object target, Operands operands, long[] set) {
+        if(!operands.isEmpty()){
+            schema.operands.writer.setObject(target, operands.view());
+            set[schema.operands.index >>> 6] |= 1L << schema.operands.index;
+        }
+    }
+
+    /**
+     * @return If {@code token}, which starts with {@code -}, is still an operand, which
+     * {@code -} on its own and negative numbers are
+     */
+    private static boolean isOperand(String token) {
+        return token.length() == 1 || (token.charAt(1) != '-' && !Character.isLetter(token.charAt(1)));
+    }
+
+    private static boolean isBooleanLiteral(String value) {
+        return value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false");
+    }
+
+    /**
+     * Gives every letter of a cluster of short flags, such as {@code -xvf}, to its option.
+     * 
+     * @return If the token was a cluster, meaning every letter belongs to an option
+     */
+    private static boolean cluster(ArgSchema schema, Object target, String token, long[] matched, long[] set, long[] tallies) {
+        final OptionBinding[] clusters = schema.clusters;
+        final int length = token.length();
+        if(length < 2 || token.charAt(0) != '-' || token.charAt(1) == '-'){
+            return false;
+        }
+        for (int c = 1; c < length; c++) {
+            final char letter = token.charAt(c);
+            if(letter >= clusters.length || clusters[letter] == null){
+                return false;
+            }
+        }
+
+        for (int c = 1; c < length; c++) {
+            final char letter = token.charAt(c);
+            final OptionBinding binding = clusters[letter];
+            final int word = binding.index >>> 6;
+            final long bit = 1L << binding.index;
+            if(binding.writer == null || !binding.convertible || (matched[word] & bit) != 0){
+                continue;
+            }
+            if(binding.count){
+                tallies[binding.index]++;
+            } else if(binding.flags != null){
+                tallies[binding.index] |= 1L << schema.flagBits[letter];
+            } else {
+                matched[word] |= bit;
+                binding.writer.toggle(target);
+            }
+            set[word] |= bit;
+        }
+        return true;
+    }
+
+    /**
+     * Adds the letters of a {@link Flags} value to the flag bits of its option, or takes
+     * the count of a {@link Count} option from an {@link ArgSources argument source}.
+     * 
+     * @return If the value was valid
+     */
+    private static boolean tally(OptionBinding binding, String value, int index, int valueIndex, long[] tallies, ParseResult result) {
+        if(binding.writer == null || !binding.convertible){
+            return false; // reported when the schema was built
+        }
+        if(value == null){
+            result.report(Diagnostic.missingValue(binding.longName, index));
+            return false;
+        }
+
+        if(binding.count){
+            try {
+                tallies[binding.index] = Long.parseLong(value);
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "count", valueIndex));
+                return false;
+            }
+        }
+        long bits = 0;
+        for (int c = 0; c < value.length(); c++) {
+            final int bit = binding.flags.indexOf(value.charAt(c));
+            if(bit < 0){
+                result.report(Diagnostic.invalidValue(binding.longName, value, "flags of \"" + binding.flags + "\"", valueIndex));
+                return false;
+            }
+            bits |= 1L << bit;
+        }
+        tallies[binding.index] |= bits;
+        return true;
+    }
+
+    /**
+     * Writes the count or flags of every tallied option that was given.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void writeTallies(Object target, long[] tallies, long[] set, ArgSchema schema) {
+        for (OptionBinding binding : schema.bindings) {
+            if(!(binding.count || binding.flags != null) || (set[binding.index >>> 6] & (1L << binding.index)) == 0
+                    || binding.writer == null || !binding.convertible){
+                continue;
+            }
+
+            final long tally = tallies[binding.index];
+            if(binding.type == int.class || binding.type == Integer.class){
+                binding.writer.setInt(target, (int) tally);
+            } else if(binding.type == EnumSet.class){
+                final Enum[] constants = binding.flagEnum().getEnumConstants();
+                final EnumSet flags = EnumSet.noneOf(binding.flagEnum());
+                for (long bits = tally; bits != 0; bits &= bits - 1) {
+                    flags.add(constants[Long.numberOfTrailingZeros(bits)]);
                 }
-                //!SECTION
+                binding.writer.setObject(target, flags);
+            } else {
+                binding.writer.setLong(target, tally);
             }
         }
-        if(!fieldWasSet && arga.required()){
-            throw new IllegalCommandArgumentException(format("Argument \"%s\" is required, yet no given argument corrosponds to it.", longName));
+    }
+
+    /**
+     * Finds the option that {@code token} abbreviates, reporting it if there is not
+     * exactly one.
+     * 
+     * @return The binding of the option, or {@code null} if there is none
+     */
+    private static OptionBinding abbreviation(OptionTrie trie, String token, int index, ParseResult result) {
+        // negative numbers and "--" are not options
+        if(token.length() < 2 || token.equals("--") || (token.charAt(1) != '-' && !Character.isLetter(token.charAt(1)))){
+            return null;
+        }
+        if(token.startsWith("--")){
+            final OptionBinding binding = trie.complete(token);
+            if(binding != null){
+                return binding;
+            }
+            final List<String> candidates = trie.completions(token, 5);
+            if(candidates.size() > 1){
+                result.report(Diagnostic.ambiguousOption(token, index, candidates));
+                return null;
+            }
         }
+        result.report(Diagnostic.unknownOption(token, index, trie.closest(token, Math.max(1, Math.min(3, token.length() / 4)), 3)));
+        return null;
     }
 
-    private String getShortNameFrom(Arg arga) {
-        String shortName = arga.shortName();
-        if(shortName != null && !shortName.equals("")){
-            shortName = "-" + shortName;
-        } else {
-            shortName = null; // no defualt for short version
+    private static void checkRequired(ArgSchema schema, long[] set, ParseResult result) {
+        for (OptionBinding binding : schema.requiredBindings) {
+            if((set[binding.index >>> 6] & (1L << binding.index)) == 0){
+                result.report(Diagnostic.missingRequired(binding.longName));
+            }
         }
-        return shortName;
     }
+    
+    /**
+     * Gives the field of {@code binding} the value that follows its option.
+     * 
+     * @param value The argument after the option, or {@code null} if the option was the last argument
+     * @param index The index of the option
+     * @param valueIndex The index of the value
+     * @return If the field was set
+     */
+    private static boolean setField(Object target, OptionBinding binding, String value, int index, int valueIndex, ParseResult result) {
+        final FieldWriter writer = binding.writer;
+        if(writer == null || !binding.convertible){
+            return false; // reported when the schema was built
+        }
+
+        final Class<?> argType = binding.type;
+
+        if(value == null){
+            if(argType == boolean.class){
+                writer.toggle(target);
+                return true;
+            }
+            
+            result.report(Diagnostic.missingValue(binding.longName, index));
+            return false;
+        }
+        
+        //SECTION - string parse
+        if(argType == String.class){
+            writer.setString(target, value);
+            return true;
+        }
+        //!SECTION
+
+        //SECTION - int parse
+        if(argType == int.class || argType == Integer.class){
+            try {
+                writer.setInt(target, Integer.parseInt(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "int", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - float parse
+        if(argType == float.class || argType == Float.class){
+            try {
+                writer.setFloat(target, Float.parseFloat(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "float", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - long parse
+        if(argType == long.class || argType == Long.class){
+            try {
+                writer.setLong(target, Long.parseLong(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "long", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - double parse
+        if(argType == double.class || argType == Double.class){
+            try {
+                writer.setDouble(target, Double.parseDouble(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "double", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - byte parse
+        if(argType == byte.class || argType == Byte.class){
+            try {
+                writer.setByte(target, Byte.parseByte(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "byte", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - short parse
+        if(argType == short.class || argType == Short.class){
+            try {
+                writer.setShort(target, Short.parseShort(value));
+                return true;
+            } catch (NumberFormatException e) {
+                result.report(Diagnostic.invalidValue(binding.longName, value, "short", valueIndex));
+                return false;
+            }
+        }
+        //!SECTION
+
+        //SECTION - char parse
+        if(argType == char.class || argType == Character.class){
+            if(value.isEmpty()){
+                result.report(Diagnostic.invalidValue(binding.longName, value, "char", valueIndex));
+                return false;
+            }
+            writer.setChar(target, value.charAt(0));
+            return true;
+        }
+        //!SECTION
+
+        //SECTION - bool parse
+        if(argType == boolean.class || argType == Boolean.class){
+            //If no value is given, do the opposite of the defualt
+            if(value.startsWith("-")){
+                writer.toggle(target);
+            } else {
+                writer.setBoolean(target, Boolean.parseBoolean(value));
+            }
+            return true;
+        }
+        //!SECTION
+
+        //SECTION - lazy parse
+        if(binding.lazyType != null){
+            writer.setObject(target, new ArgValue<>(value, binding.converter, binding.longName, valueIndex, binding.lazyType.getSimpleName()));
+            return true;
+        }
+        //!SECTION
 
-    private String getLongNameFrom(Field field, Arg arga) {
-        String longName = arga.longName();
-        if(longName == null || longName.equals("")){
-            longName = field.getName(); // Default to field name
+        //SECTION - Object parse
+        try {
+            writer.setObject(target, binding.converter.convert(value));
+            return true;
+        } catch (Exception e) {
+            result.report(Diagnostic.invalidValue(binding.longName, value, argType.getSimpleName(), valueIndex, e));
         }
-        longName = "--" + longName;
-        return longName;
+        return false;
+        //!SECTION
     }
 }
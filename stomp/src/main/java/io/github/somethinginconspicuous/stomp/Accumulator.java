@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects every value given to an array or collection option during one parse, so
+ * that the field is written once, when the parse ends. Primitive arrays are collected
+ * into growable primitive buffers, so their values are never boxed.
+ * 
+ * @see OptionBinding#elementType
+ */
+abstract class Accumulator {
+    /** The number of values collected. */
+    int size;
+
+    /**
+     * Adds the value in {@code value} from {@code start} to {@code end}.
+     * 
+     * @throws Exception if the value cannot be converted
+     */
+    abstract void add(String value, int start, int end) throws Exception;
+
+    /**
+     * @return The array or collection of every value added, to be written to the field
+     */
+    abstract Object build();
+
+    /**
+     * Removes the values added after the first {@code size}, such as the pieces of a value
+     * that had an error.
+     */
+    void truncate(int size) {
+        this.size = size;
+    }
+
+    /**
+     * @return A new, empty accumulator for the field of {@code binding}
+     */
+    static Accumulator of(OptionBinding binding) {
+        final Class<?> type = binding.type;
+        final Class<?> element = binding.elementType;
+        if(type == int[].class){
+            return new Ints();
+        }
+        if(type == long[].class){
+            return new Longs();
+        }
+        if(type == double[].class){
+            return new Doubles();
+        }
+        return new Values(element, binding.converter, type);
+    }
+
+    /**
+     * @return The part of {@code value} from {@code start} to {@code end}, which is only
+     * copied when the value was split by a separator
+     */
+    static String piece(String value, int start, int end) {
+        return start == 0 && end == value.length() ? value : value.substring(start, end);
+    }
+
+    static final class Ints extends Accumulator {
+        private int[] values = new int[8];
+
+        @Override
+        void add(String value, int start, int end) {
+            final int parsed = Numbers.parseInt(value, start, end);
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parsed;
+        }
+
+        @Override
+        Object build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class Longs extends Accumulator {
+        private long[] values = new long[8];
+
+        @Override
+        void add(String value, int start, int end) {
+            final long parsed = Numbers.parseLong(value, start, end);
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parsed;
+        }
+
+        @Override
+        Object build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    static final class Doubles extends Accumulator {
+        private double[] values = new double[8];
+
+        @Override
+        void add(String value, int start, int end) {
+            final double parsed = Double.parseDouble(piece(value, start, end));
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parsed;
+        }
+
+        @Override
+        Object build() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Collects strings, or objects built by a converter, into a list, a set or an array.
+     * The values are kept in order until the parse ends, so they can be truncated.
+     */
+    static final class Values extends Accumulator {
+        private final Class<?> element;
+        private final Converter<?> converter;
+        /** The type of the field, an array, {@code List} or {@code Set}. */
+        private final Class<?> type;
+        private Object[] values = new Object[8];
+
+        Values(Class<?> element, Converter<?> converter, Class<?> type) {
+            this.element = element;
+            this.converter = converter;
+            this.type = type;
+        }
+
+        @Override
+        void add(String value, int start, int end) throws Exception {
+            final String piece = piece(value, start, end);
+            final Object converted = converter == null ? piece : converter.convert(piece);
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = converted;
+        }
+
+        @Override
+        void truncate(int size) {
+            Arrays.fill(values, size, this.size, null);
+            this.size = size;
+        }
+
+        @Override
+        Object build() {
+            final List<Object> list = Arrays.asList(values).subList(0, size);
+            if(type == Set.class){
+                return new LinkedHashSet<>(list);
+            }
+            if(!type.isArray()){
+                return new ArrayList<>(list);
+            }
+            final Object[] array = (Object[]) Array.newInstance(element, size);
+            System.arraycopy(values, 0, array, 0, size);
+            return array;
+        }
+    }
+}
@@ -33,6 +33,11 @@ import java.lang.annotation.Target;
  * Indicates an argument field with the information to properly parse it, such as a 
  * {@link #longName()} (--fullname) and {@link #shortName()} (-short). There is also
  * a {@link #required()} option to make an option required.
+ * <p>
+ * Array, {@code List} and {@code Set} fields take every occurrence of their option,
+ * such as {@code -I dir -I dir2}, and each value can also be split by a
+ * {@link #separator()}, such as {@code --ports 1,2,3}. The only primitive arrays are
+ * {@code int[]}, {@code long[]} and {@code double[]}.
  * @author Matthew "Something Inconspicuous"
  */
 @Target(ElementType.FIELD)
@@ -41,4 +46,11 @@ public @interface Arg {
     String longName() default "";
     String shortName() default "";
     boolean required() default false;
+    /**
+     * The environment variable that gives the option a value when it is not given as an
+     * argument, such as "APP_PORT". It is only read when parsing with {@link ArgSources}.
+     */
+    String env() default "";
+    /** What splits each value of an array or collection option, such as ",". Values are not split by default. */
+    String separator() default "";
 }
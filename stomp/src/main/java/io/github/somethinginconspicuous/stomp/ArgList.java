@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read only view of part of an argument vector, given to {@link Positional} fields so
+ * the arguments are not copied.
+ */
+final class ArgList extends AbstractList<String> implements RandomAccess {
+    private final String[] args;
+    private final int start;
+    private final int end;
+
+    ArgList(String[] args, int start, int end) {
+        this.args = args;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public String get(int index) {
+        if(index < 0 || index >= end - start){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (end - start));
+        }
+        return args[start + index];
+    }
+
+    @Override
+    public int size() {
+        return end - start;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOfRange(args, start, end, Object[].class);
+    }
+
+    @Override
+    public List<String> subList(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > end - start || fromIndex > toIndex){
+            throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + (end - start));
+        }
+        return new ArgList(args, start + fromIndex, start + toIndex);
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+/**
+ * The immutable parse plan of an argument container class. A schema is built the
+ * first time a class is parsed and is then shared by every later parse of that class,
+ * so the reflection and annotation lookups are only ever done once per class. Problems
+ * with the class are found here too, and are written to {@code System.err} once, when
+ * the schema is built.
+ * 
+ * <p>
+ * 
+ * The schema of a record has a binding for each of its components that is given the
+ * {@link Arg}, which writes into an {@code Object[]} of the components instead of the
+ * record itself.
+ * 
+ * @see #of(Class)
+ */
+final class ArgSchema {
+    private static final ClassValue<ArgSchema> SCHEMAS = new ClassValue<ArgSchema>() {
+        @Override
+        protected ArgSchema computeValue(Class<?> type) {
+            return new ArgSchema(type);
+        }
+    };
+
+    final Class<?> type;
+    /** The bindings of every {@link Arg} field, in declaration order. */
+    final OptionBinding[] bindings;
+    /** The bindings that must be given a value, in declaration order. */
+    final OptionBinding[] requiredBindings;
+    /** Every long and short option, mapped to the binding it belongs to. */
+    final OptionIndex options;
+    /** The names of the options, if they can be {@link Abbreviations abbreviated}, or {@code null}. */
+    final OptionTrie abbreviations;
+    /** The validation annotations of the fields, or {@code null} if there are none. */
+    final Constraints constraints;
+    /**
+     * The binding of each letter that can be clustered with others after a single
+     * {@code -}, indexed by the letter, or {@code null} if no option can be clustered.
+     * These are the one letter short options of booleans and {@link Count counts}, and
+     * the letters of {@link Flags}.
+     */
+    final OptionBinding[] clusters;
+    /** The bit of each letter of a {@link Flags} field in {@link #clusters}. */
+    final byte[] flagBits;
+    /** If there are {@link Count} or {@link Flags} fields, which are tallied while parsing. */
+    final boolean tallied;
+    /**
+     * The {@link Positional} field of each position, or {@code null} if the class has no
+     * positional fields at all. Positions that no field has are {@code null}.
+     */
+    final OptionBinding[] positionals;
+    /** The field of the operands after the positioned ones, or {@code null} if there is none. */
+    final OptionBinding operands;
+    /** The field of the arguments after {@code --}, or {@code null} if there is none. */
+    final OptionBinding passthrough;
+    /** If arguments can be given through {@link ArgFiles argument files}. */
+    final boolean argFiles;
+    /** The number of {@code long} words needed for a bitset with one bit per binding. */
+    final int bitWords;
+    /** The problems found with the class, which are only reported once. */
+    final List<Diagnostic> warnings;
+
+    private ArgSchema(Class<?> type) {
+        this.type = type;
+
+        List<Diagnostic> warnings = new ArrayList<>();
+        final Field[] components = Records.components(type);
+        Field[] fields = components != null ? components : type.getDeclaredFields();
+        List<OptionBinding> bindings = new ArrayList<>(fields.length);
+        for (int i = 0; i < fields.length; i++) {
+            Arg arga = fields[i].getAnnotation(Arg.class);
+            Positional positional = fields[i].getAnnotation(Positional.class);
+
+            if(arga == null && positional == null){
+                // components of records that are not arguments keep their zero value
+                if(components == null && fields[i].getAnnotation(NotArg.class) == null && !fields[i].isSynthetic()){
+                    warnings.add(warning(Code.MISSING_ANNOTATION, format("Field \"%s\" is not given the @%s.", fields[i], Arg.class), null));
+                }
+                continue;
+            }
+            if(Modifier.isStatic(fields[i].getModifiers())){
+                warnings.add(warning(Code.STATIC_FIELD, format("Argument fields (\"%s\") should not be static", fields[i]), null));
+            }
+            FieldWriter writer = null;
+            try {
+                writer = components != null ? FieldWriter.slot(i, fields[i].getType()) : new FieldWriter(fields[i]);
+            } catch (IllegalAccessException | RuntimeException e) {
+                warnings.add(warning(Code.UNWRITABLE_FIELD, format("Field \"%s\" is not writable.", fields[i]), e));
+            }
+            OptionBinding binding = positional != null
+                    ? new OptionBinding(bindings.size(), fields[i], positional, writer)
+                    : new OptionBinding(bindings.size(), fields[i], arga, writer);
+            if(binding.writer != null && !binding.convertible){
+                warnings.add(warning(Code.UNSUPPORTED_TYPE, format("Field \"%s\" is unable to be constucted from a string.", fields[i]), null));
+            }
+            bindings.add(binding);
+        }
+        this.bindings = bindings.toArray(new OptionBinding[bindings.size()]);
+        this.bitWords = (this.bindings.length + 63) >>> 6;
+
+        List<OptionBinding> requiredBindings = new ArrayList<>();
+        Map<String, OptionBinding> options = new HashMap<>(this.bindings.length * 4);
+        for (OptionBinding binding : this.bindings) {
+            if(binding.required){
+                requiredBindings.add(binding);
+            }
+            if(binding.positional){
+                continue; // not an option
+            }
+            index(options, binding.longName, binding, warnings);
+            if(binding.shortName != null){
+                index(options, binding.shortName, binding, warnings);
+            }
+        }
+        this.requiredBindings = requiredBindings.toArray(new OptionBinding[requiredBindings.size()]);
+        this.options = new OptionIndex(options);
+        this.abbreviations = type.isAnnotationPresent(Abbreviations.class) ? new OptionTrie(options) : null;
+        this.argFiles = type.isAnnotationPresent(ArgFiles.class);
+
+        OptionBinding[] clusters = new OptionBinding[128];
+        byte[] flagBits = new byte[128];
+        boolean clustered = false;
+        boolean tallied = false;
+        for (OptionBinding binding : this.bindings) {
+            tallied |= binding.count || binding.flags != null;
+            if(binding.shortName != null && binding.shortName.length() == 2 && !binding.takesValue
+                    && options.get(binding.shortName) == binding && clusterable(binding.shortName.charAt(1))){
+                clustered |= cluster(clusters, binding.shortName.charAt(1), binding, warnings);
+            }
+            if(binding.flags != null && binding.convertible){
+                for (int bit = 0; bit < binding.flags.length(); bit++) {
+                    if(cluster(clusters, binding.flags.charAt(bit), binding, warnings)){
+                        flagBits[binding.flags.charAt(bit)] = (byte) bit;
+                        clustered = true;
+                    }
+                }
+            }
+        }
+        this.clusters = clustered ? clusters : null;
+        this.flagBits = flagBits;
+        this.tallied = tallied;
+        this.positionals = positionals(this.bindings, warnings);
+        OptionBinding operands = null;
+        OptionBinding passthrough = null;
+        for (OptionBinding binding : this.bindings) {
+            if(binding.positional && binding.position < 0 && binding.writer != null && binding.convertible){
+                if(binding.passthrough ? passthrough != null : operands != null){
+                    warnings.add(new Diagnostic(Code.DUPLICATE_OPTION, format("Field \"%s\" takes the same arguments as field \"%s\".",
+                            binding.field, (binding.passthrough ? passthrough : operands).field), null, -1, null));
+                } else if(binding.passthrough){
+                    passthrough = binding;
+                } else {
+                    operands = binding;
+                }
+            }
+        }
+        this.operands = operands;
+        this.passthrough = passthrough;
+        this.constraints = Constraints.of(this.bindings, this.options, bitWords, warnings);
+
+        this.warnings = Collections.unmodifiableList(warnings);
+        for (Diagnostic warning : this.warnings) {
+            System.err.println(warning);
+        }
+    }
+
+    private static Diagnostic warning(Code code, String message, Throwable cause) {
+        return new Diagnostic(code, message, null, -1, cause);
+    }
+
+    private static void index(Map<String, OptionBinding> options, String option, OptionBinding binding, List<Diagnostic> warnings) {
+        OptionBinding previous = options.get(option);
+        if(previous != null){
+            warnings.add(new Diagnostic(Code.DUPLICATE_OPTION, format("Option \"%s\" of field \"%s\" is already used by field \"%s\".", option, binding.field, previous.field), option, -1, null));
+            return;
+        }
+        options.put(option, binding);
+    }
+
+    /**
+     * @return The positioned fields, indexed by position, or {@code null} if there are no
+     * positional fields
+     */
+    private static OptionBinding[] positionals(OptionBinding[] bindings, List<Diagnostic> warnings) {
+        boolean found = false;
+        int length = 0;
+        for (OptionBinding binding : bindings) {
+            found |= binding.positional;
+            length = Math.max(length, binding.position + 1);
+        }
+        if(!found){
+            return null;
+        }
+
+        final OptionBinding[] positionals = new OptionBinding[length];
+        for (OptionBinding binding : bindings) {
+            if(binding.position < 0){
+                continue;
+            }
+            if(positionals[binding.position] != null){
+                warnings.add(new Diagnostic(Code.DUPLICATE_OPTION, format("Position %d of field \"%s\" is already used by field \"%s\".",
+                        binding.position, binding.field, positionals[binding.position].field), null, -1, null));
+                continue;
+            }
+            positionals[binding.position] = binding;
+        }
+        return positionals;
+    }
+
+    /**
+     * @return If {@code letter} is a printable ASCII character other than {@code -}
+     */
+    private static boolean clusterable(char letter) {
+        return letter > ' ' && letter < 127 && letter != '-';
+    }
+
+    /**
+     * @return If {@code letter} was added to the clusters
+     */
+    private static boolean cluster(OptionBinding[] clusters, char letter, OptionBinding binding, List<Diagnostic> warnings) {
+        if(!clusterable(letter)){
+            warnings.add(new Diagnostic(Code.UNSUPPORTED_TYPE, format("Flag '%s' of field \"%s\" cannot be clustered.", letter, binding.field), null, -1, null));
+            return false;
+        }
+        if(clusters[letter] != null){
+            warnings.add(new Diagnostic(Code.DUPLICATE_OPTION, format("Flag '%s' of field \"%s\" is already used by field \"%s\".", letter, binding.field, clusters[letter].field), "-" + letter, -1, null));
+            return false;
+        }
+        clusters[letter] = binding;
+        return true;
+    }
+
+    /**
+     * Gets the schema of the given argument container class, building it if this
+     * is the first time the class has been seen.
+     * 
+     * @param type The argument container class
+     * @return The shared schema of {@code type}
+     */
+    static ArgSchema of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+}
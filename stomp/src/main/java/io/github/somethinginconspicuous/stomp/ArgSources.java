@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The values options take when they are not given as arguments. Each option is given
+ * the first value found in:
+ * 
+ * <ol>
+ * <li>the arguments</li>
+ * <li>the environment variable named by its {@link Arg#env()}</li>
+ * <li>the defaults, such as a {@code .properties} file, under its long name without the
+ * leading "--" (so {@code port=8080} for {@code --port})</li>
+ * <li>the initializer of its field</li>
+ * </ol>
+ * 
+ * Sources are immutable snapshots: the environment and the defaults file are read once,
+ * when the sources are created, so one {@code ArgSources} can be shared by every parse
+ * and every thread.
+ * 
+ * <pre>{@code
+ * ArgSources sources = ArgSources.environment().withDefaults(Paths.get("app.properties"));
+ * args.parse(argv, sources);
+ * }</pre>
+ */
+public final class ArgSources {
+    private static final ArgSources NONE = new ArgSources(Collections.<String, String>emptyMap(), Collections.<String, String>emptyMap());
+
+    private final Map<String, String> environment;
+    private final Map<String, String> defaults;
+
+    private ArgSources(Map<String, String> environment, Map<String, String> defaults) {
+        this.environment = environment;
+        this.defaults = defaults;
+    }
+
+    /**
+     * @return Sources with no environment and no defaults
+     */
+    public static ArgSources none() {
+        return NONE;
+    }
+
+    /**
+     * @return Sources with a snapshot of the environment of this process, and no defaults
+     */
+    public static ArgSources environment() {
+        return NONE.withEnvironment(System.getenv());
+    }
+
+    /**
+     * @param environment The environment variables, by name
+     * @return These sources with {@code environment} in place of their environment
+     */
+    public ArgSources withEnvironment(Map<String, String> environment) {
+        return new ArgSources(Collections.unmodifiableMap(new HashMap<>(environment)), defaults);
+    }
+
+    /**
+     * @param defaults The default values, by long option name without the leading "--"
+     * @return These sources with {@code defaults} in place of their defaults
+     */
+    public ArgSources withDefaults(Map<String, String> defaults) {
+        return new ArgSources(environment, Collections.unmodifiableMap(new HashMap<>(defaults)));
+    }
+
+    /**
+     * @param defaults The default values, by long option name without the leading "--"
+     * @return These sources with {@code defaults} in place of their defaults
+     */
+    public ArgSources withDefaults(Properties defaults) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : defaults.stringPropertyNames()) {
+            values.put(name, defaults.getProperty(name));
+        }
+        return new ArgSources(environment, Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Reads the default values from a {@code .properties} file, in UTF-8.
+     * 
+     * @param file The properties file, with keys that are long option names without
+     * the leading "--"
+     * @return These sources with the values in {@code file} in place of their defaults
+     * @throws IOException if the file cannot be read
+     */
+    public ArgSources withDefaults(Path file) throws IOException {
+        Properties defaults = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            defaults.load(reader);
+        }
+        return withDefaults(defaults);
+    }
+
+    /**
+     * @return The value of {@code binding} from these sources, or {@code null} if there is none
+     */
+    String valueOf(OptionBinding binding) {
+        if(binding.positional){
+            return null; // only given as arguments
+        }
+        if(binding.env != null){
+            final String value = environment.get(binding.env);
+            if(value != null){
+                return value;
+            }
+        }
+        return defaults.isEmpty() ? null : defaults.get(binding.key);
+    }
+
+    /**
+     * @return If these sources have no values at all
+     */
+    boolean isEmpty() {
+        return environment.isEmpty() && defaults.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ArgSources[" + environment.size() + " environment variables, " + defaults.size() + " defaults]";
+    }
+}
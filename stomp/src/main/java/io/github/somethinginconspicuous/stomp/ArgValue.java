@@ -0,0 +1,160 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * The value of an option that is only converted when it is first read. An {@link Arg}
+ * field of type {@code ArgValue<T>} is given the raw argument when it is parsed, and
+ * the argument is converted to a {@code T} the first time {@link #get()} is called, so
+ * options that a run never reads never pay for their conversion.
+ * 
+ * <pre>{@code
+ * @Arg(longName = "rate")
+ * public ArgValue<BigDecimal> rate = ArgValue.of(BigDecimal.ONE);
+ * }</pre>
+ * 
+ * The converted value is kept, and an {@code ArgValue} can be read from any number of
+ * threads.
+ * 
+ * @param <T> The type of the value
+ */
+public final class ArgValue<T> {
+    /** The value before it has been converted. */
+    private static final Object UNCONVERTED = new Object();
+
+    private final String raw;
+    private final Converter<? extends T> converter;
+    private final String option;
+    private final int index;
+    private final String typeName;
+
+    private volatile Object value;
+    /** The error found by the conversion, if it failed. */
+    private volatile Diagnostic error;
+
+    ArgValue(String raw, Converter<? extends T> converter, String option, int index, String typeName) {
+        this.raw = raw;
+        this.converter = converter;
+        this.option = option;
+        this.index = index;
+        this.typeName = typeName;
+        this.value = UNCONVERTED;
+    }
+
+    private ArgValue(T value) {
+        this.raw = null;
+        this.converter = null;
+        this.option = null;
+        this.index = -1;
+        this.typeName = null;
+        this.value = value;
+    }
+
+    /**
+     * Gives an option a default value, for when it is not given.
+     * 
+     * @param <T> The type of the value
+     * @param value The default value
+     * @return A value that is already converted
+     */
+    public static <T> ArgValue<T> of(T value) {
+        return new ArgValue<T>(value);
+    }
+
+    /**
+     * Gets the value, converting the argument if this is the first time it is read.
+     * 
+     * @return The value
+     * @throws IllegalCommandArgumentException if the argument cannot be converted to
+     * the type of the value. Every later call throws the same error
+     */
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object value = this.value;
+        if(value == UNCONVERTED){
+            synchronized (this) {
+                value = this.value;
+                if(value == UNCONVERTED && error == null){
+                    try {
+                        value = converter == null ? raw : converter.convert(raw);
+                        this.value = value;
+                    } catch (Exception e) {
+                        error = Diagnostic.invalidValue(option, raw, typeName, index, e);
+                    }
+                }
+            }
+            if(error != null){
+                throw (IllegalCommandArgumentException) error.toException();
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Converts the argument if it has not been converted yet, without throwing.
+     * 
+     * @return The error found by the conversion, or {@code null} if it worked
+     */
+    public Diagnostic check() {
+        try {
+            get();
+            return null;
+        } catch (IllegalCommandArgumentException e) {
+            return error;
+        }
+    }
+
+    /**
+     * @return The argument as it was given, or {@code null} if this is a
+     * {@link #of(Object) default value}
+     */
+    public String raw() {
+        return raw;
+    }
+
+    /**
+     * @return The option the argument was given to, or {@code null} if this is a
+     * {@link #of(Object) default value}
+     */
+    public String option() {
+        return option;
+    }
+
+    /**
+     * @return If the argument has been converted, or conversion has failed
+     */
+    public boolean isConverted() {
+        return value != UNCONVERTED || error != null;
+    }
+
+    @Override
+    public String toString() {
+        final Object value = this.value;
+        return value == UNCONVERTED ? "ArgValue[" + raw + "]" : String.valueOf(value);
+    }
+}
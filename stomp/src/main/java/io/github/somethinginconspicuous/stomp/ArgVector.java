@@ -0,0 +1,450 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * The arguments of one parse: an argument vector as it was given, the same with its
+ * {@link ArgFiles argument files} expanded in place, or a command line split into
+ * arguments. The arguments read from files or lines are kept as ranges of their
+ * characters, and are only copied into a string when {@link #string(int)} is called.
+ */
+final class ArgVector {
+    /** How deep argument files can name other argument files. */
+    private static final int MAX_DEPTH = 16;
+
+    /** The arguments that were given directly, or {@code null} for those read from a file. */
+    private String[] strings;
+    /** The characters of the file each argument was read from. */
+    private char[][] chars;
+    private int[] starts;
+    private int[] ends;
+    /** If an argument read from a file has quotes or escapes that have to be removed. */
+    private boolean[] escaped;
+    /** The index in the original argument vector that each argument came from. */
+    private int[] origins;
+    private int size;
+    /** If {@link #strings} is the argument vector that was given, which is not copied. */
+    private boolean wrapped;
+    /** The index of the first argument of the range that is parsed. */
+    int start;
+    /** The index after the last argument of the range that is parsed. */
+    int end;
+
+    /**
+     * Creates an empty vector, to be filled by {@link #split(char[], int, int, boolean, ParseResult)}.
+     */
+    ArgVector() {
+        this(16);
+    }
+
+    private ArgVector(int capacity) {
+        strings = new String[capacity];
+        chars = new char[capacity][];
+        starts = new int[capacity];
+        ends = new int[capacity];
+        escaped = new boolean[capacity];
+        origins = new int[capacity];
+    }
+
+    private ArgVector(String[] args, int start, int end) {
+        this.strings = args;
+        this.size = args.length;
+        this.wrapped = true;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Wraps an argument vector without copying it. The arguments after {@code end} are
+     * kept, so they can still be the value of an option.
+     */
+    static ArgVector of(String[] args, int start, int end) {
+        return new ArgVector(args, start, end);
+    }
+
+    /**
+     * @return If any argument from {@code start} to {@code end} names an argument file
+     */
+    static boolean hasArgFiles(String[] args, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if(isArgFile(args[i])){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isArgFile(String arg) {
+        return arg.length() > 1 && arg.charAt(0) == '@';
+    }
+
+    /**
+     * Expands the argument files named from {@code start} to {@code end}. The arguments
+     * after {@code end} are kept as they are, so they can still be the value of an option.
+     * 
+     * @param result Where files that cannot be read are reported
+     */
+    static ArgVector expand(String[] args, int start, int end, ParseResult result) {
+        ArgVector vector = new ArgVector(Math.max(16, args.length - start + 16));
+        Deque<Path> open = new ArrayDeque<>();
+        for (int i = start; i < end; i++) {
+            if(isArgFile(args[i])){
+                vector.addFile(args[i].substring(1), i, result, open);
+            } else {
+                vector.add(args[i], i);
+            }
+        }
+        vector.end = vector.size;
+        for (int i = end; i < args.length; i++) {
+            vector.add(args[i], i);
+        }
+        return vector;
+    }
+
+    /**
+     * Takes the first {@code count} arguments named by {@code indices}, keeping the index
+     * each one had, and expanding them if they name argument files.
+     *
+     * @param argFiles If arguments can name argument files
+     * @param result Where files that cannot be read are reported
+     */
+    static ArgVector select(String[] args, int[] indices, int count, boolean argFiles, ParseResult result) {
+        ArgVector vector = new ArgVector(Math.max(16, count));
+        Deque<Path> open = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            final int index = indices[i];
+            if(argFiles && isArgFile(args[index])){
+                vector.addFile(args[index].substring(1), index, result, open);
+            } else {
+                vector.add(args[index], index);
+            }
+        }
+        vector.end = vector.size;
+        return vector;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The index in the original argument vector that argument {@code i} came from
+     */
+    int origin(int i) {
+        return wrapped ? i : origins[i];
+    }
+
+    /**
+     * @return The argument vector that was given, if this vector wraps it, so that
+     * arguments can be taken as a view of it, or {@code null} if they must be copied
+     */
+    String[] array() {
+        return wrapped ? strings : null;
+    }
+
+    /**
+     * @return The arguments from {@code from} to the end of the parsed range
+     */
+    ArgList list(int from) {
+        if(wrapped){
+            return new ArgList(strings, from, end);
+        }
+        final String[] copied = new String[Math.max(0, end - from)];
+        for (int i = 0; i < copied.length; i++) {
+            copied[i] = string(from + i);
+        }
+        return new ArgList(copied, 0, copied.length);
+    }
+
+    /**
+     * @return If argument {@code i} could be an option
+     */
+    boolean isOption(int i) {
+        if(strings[i] != null){
+            return !strings[i].isEmpty() && strings[i].charAt(0) == '-';
+        }
+        if(escaped[i]){
+            // a quote or escape can come before the first character
+            final String arg = string(i);
+            return !arg.isEmpty() && arg.charAt(0) == '-';
+        }
+        return starts[i] < ends[i] && chars[i][starts[i]] == '-';
+    }
+
+    /**
+     * @return The binding of argument {@code i}, or {@code null} if it is not an option
+     */
+    OptionBinding lookup(OptionIndex index, int i) {
+        if(strings[i] != null){
+            return index.get(strings[i]);
+        }
+        if(escaped[i]){
+            return index.get(string(i));
+        }
+        return index.get(chars[i], starts[i], ends[i]);
+    }
+
+    /**
+     * Copies argument {@code i} into a string, removing its quotes and escapes.
+     */
+    String string(int i) {
+        if(strings[i] != null){
+            return strings[i];
+        }
+        if(escaped[i]){
+            final StringBuilder unescaped = new StringBuilder(ends[i] - starts[i]);
+            readArgument(chars[i], starts[i], ends[i], unescaped);
+            return unescaped.toString();
+        }
+        return new String(chars[i], starts[i], ends[i] - starts[i]);
+    }
+
+    private void add(String arg, int origin) {
+        grow();
+        strings[size] = arg;
+        origins[size] = origin;
+        size++;
+    }
+
+    private void add(char[] source, int start, int end, boolean escaped, int origin) {
+        grow();
+        this.chars[size] = source;
+        this.starts[size] = start;
+        this.ends[size] = end;
+        this.escaped[size] = escaped;
+        this.origins[size] = origin;
+        size++;
+    }
+
+    private void grow() {
+        if(size < strings.length){
+            return;
+        }
+        int capacity = strings.length * 2;
+        strings = Arrays.copyOf(strings, capacity);
+        chars = Arrays.copyOf(chars, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        escaped = Arrays.copyOf(escaped, capacity);
+        origins = Arrays.copyOf(origins, capacity);
+    }
+
+    private void addFile(String name, int origin, ParseResult result, Deque<Path> open) {
+        if(open == null){
+            open = new ArrayDeque<>();
+        }
+        final Path path;
+        final CharBuffer content;
+        try {
+            path = Paths.get(name).toRealPath();
+            if(open.contains(path) || open.size() == MAX_DEPTH){
+                result.report(new Diagnostic(Diagnostic.Code.UNREADABLE_ARG_FILE,
+                        String.format("Argument file \"%s\" names itself, or is nested too deeply.", name), null, origin, null));
+                return;
+            }
+            content = read(path);
+        } catch (IOException | InvalidPathException e) {
+            result.report(Diagnostic.unreadableArgFile(name, origin, e));
+            return;
+        }
+
+        open.push(path);
+        split(content.array(), 0, content.limit(), origin, true, result, open);
+        open.pop();
+    }
+
+    /**
+     * Splits {@code chars} from {@code start} to {@code end} into arguments, the way a
+     * shell would, adding each one as a range of {@code chars}. Arguments are separated
+     * by whitespace, single quotes keep everything up to the closing quote as is, double
+     * quotes keep whitespace but still allow backslash escapes, and a backslash outside of
+     * single quotes escapes the character after it.
+     * 
+     * @param origin The index every argument came from, or -1 if each argument is its own
+     * @param argFiles If {@code @path} arguments are expanded
+     * @param open The argument files being read, or {@code null} if there are none yet
+     */
+    private void split(char[] chars, int start, int end, int origin, boolean argFiles, ParseResult result, Deque<Path> open) {
+        int argument = 0;
+        int i = start;
+        while (i < end) {
+            while (i < end && Character.isWhitespace(chars[i])) {
+                i++;
+            }
+            if(i == end){
+                break;
+            }
+
+            final int from = i;
+            i = readArgument(chars, from, end, null);
+            final boolean escaped = i < 0;
+            if(escaped){
+                i = ~i;
+            }
+
+            final int index = origin < 0 ? argument++ : origin;
+            if(argFiles && !escaped && i - from > 1 && chars[from] == '@'){
+                addFile(new String(chars, from + 1, i - from - 1), index, result, open);
+            } else {
+                add(chars, from, i, escaped, index);
+            }
+        }
+    }
+
+    /**
+     * Reads the argument that starts at {@code start}, which is not whitespace. This is
+     * the only place that quotes and escapes are read, both to find where an argument
+     * ends and to remove them when the argument is copied into a string.
+     * 
+     * @param unescaped Where the argument is written without its quotes and escapes, or
+     * {@code null} to only find where it ends
+     * @return The index after the argument, or its complement ({@code ~index}) if the
+     * argument has quotes or escapes
+     */
+    private static int readArgument(char[] chars, int start, int end, StringBuilder unescaped) {
+        boolean escaped = false;
+        char quote = 0;
+        int i = start;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if(quote == '\''){
+                if(c == '\''){
+                    quote = 0;
+                } else if(unescaped != null){
+                    unescaped.append(c);
+                }
+                continue;
+            }
+            if(c == '\\' && i + 1 < end){
+                escaped = true;
+                c = chars[++i];
+            } else if(quote == '"' && c == '"'){
+                quote = 0;
+                continue;
+            } else if(quote == 0 && (c == '\'' || c == '"')){
+                quote = c;
+                escaped = true;
+                continue;
+            } else if(quote == 0 && Character.isWhitespace(c)){
+                break;
+            }
+            if(unescaped != null){
+                unescaped.append(c);
+            }
+        }
+        return escaped ? ~i : i;
+    }
+
+    /**
+     * Replaces the arguments of this vector with the command line in {@code chars} from
+     * {@code start} to {@code end}, so one vector can be used for many lines. The
+     * characters must not change until this vector has been parsed.
+     * 
+     * @param argFiles If {@code @path} arguments are expanded
+     * @param result Where files that cannot be read are reported
+     */
+    void split(char[] chars, int start, int end, boolean argFiles, ParseResult result) {
+        Arrays.fill(strings, 0, size, null);
+        Arrays.fill(this.chars, 0, size, null);
+        size = 0;
+        split(chars, start, end, -1, argFiles, result, null);
+        this.end = size;
+    }
+
+    /**
+     * Splits a command line into arguments without copying them. A {@link CharBuffer}
+     * with a backing array is read in place, and any other line is copied once.
+     * 
+     * @param argFiles If {@code @path} arguments are expanded
+     * @param result Where files that cannot be read are reported
+     */
+    static ArgVector split(CharSequence line, boolean argFiles, ParseResult result) {
+        final char[] chars;
+        final int start;
+        final int end;
+        if(line instanceof CharBuffer && ((CharBuffer) line).hasArray()){
+            final CharBuffer buffer = (CharBuffer) line;
+            chars = buffer.array();
+            start = buffer.arrayOffset() + buffer.position();
+            end = buffer.arrayOffset() + buffer.limit();
+        } else {
+            chars = new char[line.length()];
+            if(line instanceof String){
+                ((String) line).getChars(0, chars.length, chars, 0);
+            } else {
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = line.charAt(i);
+                }
+            }
+            start = 0;
+            end = chars.length;
+        }
+
+        final ArgVector vector = new ArgVector();
+        vector.split(chars, start, end, argFiles, result);
+        return vector;
+    }
+
+    /**
+     * Splits a UTF-8 command line into arguments, decoding it once. The position of
+     * {@code utf8} is not changed, and malformed input is replaced.
+     */
+    static ArgVector split(ByteBuffer utf8, boolean argFiles, ParseResult result) {
+        return split(StandardCharsets.UTF_8.decode(utf8.duplicate()), argFiles, result);
+    }
+
+    /**
+     * Reads a UTF-8 file through a memory mapped buffer, decoding it once.
+     */
+    private static CharBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if(size > Integer.MAX_VALUE){
+                throw new IOException("Argument file is too large");
+            }
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(bytes);
+        }
+    }
+}
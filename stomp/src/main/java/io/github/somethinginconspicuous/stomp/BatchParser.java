@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+
+/**
+ * Parses many argument vectors into new instances of a container class, in parallel.
+ * 
+ * <p>
+ * 
+ * Each argument vector is parsed with {@link AbstractArgs#tryParse(String[])} into a new
+ * instance on the given {@link Executor}, which can be a thread pool, a
+ * {@code ForkJoinPool} or an executor that starts a virtual thread per task. The results
+ * are given to a {@link Handler} on the calling thread, in the order of the input, and at
+ * most {@code window} argument vectors are parsed ahead of the handler, so memory use
+ * does not grow with the size of the input. The schema of the class is built once, before
+ * the first argument vector is parsed.
+ * 
+ * <p>
+ * 
+ * A batch parser keeps no state between batches, and can be used by many threads at once.
+ * 
+ * @param <T> The argument container class
+ */
+public final class BatchParser<T extends AbstractArgs> {
+    /**
+     * Receives the result of each argument vector of a batch.
+     * 
+     * @param <T> The argument container class
+     */
+    public interface Handler<T> {
+        /**
+         * Receives the result of an argument vector. This is called on the thread that
+         * started the batch, in the order of the input.
+         * 
+         * @param line The position of the argument vector in the input, counting from 1.
+         * For files this is the line number
+         * @param args The new container the arguments were parsed into
+         * @param result The errors found in the arguments
+         */
+        void handle(long line, T args, ParseResult result);
+    }
+
+    private final Parser<T> parser;
+    private final Executor executor;
+    private final int window;
+
+    /**
+     * Creates a batch parser.
+     * 
+     * @param type The argument container class
+     * @param executor Where the arguments are parsed
+     * @param window The most argument vectors that can be parsed ahead of the handler,
+     * such as four times the number of threads of {@code executor}
+     * @throws IllegalArgumentClassException if {@code type} has no constructor without
+     * parameters
+     */
+    public BatchParser(Class<T> type, Executor executor, int window) {
+        if(window < 1){
+            throw new IllegalArgumentException("window must be at least 1");
+        }
+        // resolves the schema here rather than in the first few tasks at once
+        this.parser = Parser.of(type);
+        this.executor = executor;
+        this.window = window;
+    }
+
+    /**
+     * Parses every argument vector of {@code lines}.
+     * 
+     * @param lines The argument vectors
+     * @param handler Receives each result, in order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * for a result
+     */
+    public void parse(Iterable<String[]> lines, Handler<? super T> handler) throws InterruptedException {
+        parse(lines.iterator(), handler);
+    }
+
+    /**
+     * Parses a UTF-8 file with one command line per line. Each line is split into
+     * arguments like a shell would, with quotes and backslash escapes, and blank lines
+     * are skipped.
+     * 
+     * @param file The file of command lines
+     * @param handler Receives each result, in order
+     * @throws IOException if the file cannot be read
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * for a result
+     */
+    public void parse(Path file, Handler<? super T> handler) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final ArrayDeque<Task> pending = new ArrayDeque<>(window);
+            long number = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if(line.trim().isEmpty()){
+                    continue;
+                }
+                submit(new Task(number, null, line), pending, handler);
+            }
+            drain(pending, handler);
+        }
+    }
+
+    /**
+     * Parses every argument vector of {@code lines}, reading each one only when there is
+     * room for it in the window. On Java 8 and later a {@code Stream<String[]>} can be
+     * given as its {@code iterator()}.
+     * 
+     * @param lines The argument vectors
+     * @param handler Receives each result, in order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * for a result
+     */
+    public void parse(Iterator<String[]> lines, Handler<? super T> handler) throws InterruptedException {
+        final ArrayDeque<Task> pending = new ArrayDeque<>(window);
+        long number = 0;
+        while (lines.hasNext()) {
+            submit(new Task(++number, lines.next(), null), pending, handler);
+        }
+        drain(pending, handler);
+    }
+
+    private void submit(Task task, ArrayDeque<Task> pending, Handler<? super T> handler) throws InterruptedException {
+        if(pending.size() == window){
+            deliver(pending.removeFirst(), pending, handler);
+        }
+        pending.addLast(task);
+        executor.execute(task.future);
+    }
+
+    private void drain(ArrayDeque<Task> pending, Handler<? super T> handler) throws InterruptedException {
+        while (!pending.isEmpty()) {
+            deliver(pending.removeFirst(), pending, handler);
+        }
+    }
+
+    private void deliver(Task task, ArrayDeque<Task> pending, Handler<? super T> handler) throws InterruptedException {
+        final T args;
+        try {
+            args = task.future.get();
+        } catch (InterruptedException e) {
+            cancel(task, pending);
+            throw e;
+        } catch (ExecutionException e) {
+            cancel(task, pending);
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException){
+                throw (RuntimeException) cause;
+            }
+            if(cause instanceof Error){
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+
+        try {
+            handler.handle(task.line, args, task.result);
+        } catch (RuntimeException | Error e) {
+            cancel(task, pending);
+            throw e;
+        }
+    }
+
+    private void cancel(Task failed, ArrayDeque<Task> pending) {
+        failed.future.cancel(false);
+        for (Task task : pending) {
+            task.future.cancel(false);
+        }
+    }
+
+    /**
+     * A single argument vector of a batch, parsed by {@link #call()}.
+     */
+    private final class Task implements Callable<T> {
+        final long line;
+        final FutureTask<T> future;
+        /** The arguments, or {@code null} if they are parsed from {@link #commandLine}. */
+        private final String[] args;
+        private final String commandLine;
+        /** Written by the parsing thread before the future completes. */
+        ParseResult result;
+
+        Task(long line, String[] args, String commandLine) {
+            this.line = line;
+            this.args = args;
+            this.commandLine = commandLine;
+            this.future = new FutureTask<>(this);
+        }
+
+        @Override
+        public T call() {
+            final Parsed<T> parsed = args != null ? parser.tryParse(args) : parser.tryParse(commandLine);
+            result = parsed.result();
+            return parsed.args();
+        }
+    }
+}
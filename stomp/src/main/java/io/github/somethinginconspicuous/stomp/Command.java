@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A command found by a {@link CommandTree}, with the containers its arguments were parsed
+ * into.
+ */
+public final class Command {
+    private final String path;
+    private final List<AbstractArgs> containers;
+    private final int start;
+    private final ParseResult result;
+
+    Command(String path, List<AbstractArgs> containers, int start, ParseResult result) {
+        this.path = path;
+        this.containers = Collections.unmodifiableList(containers);
+        this.start = start;
+        this.result = result;
+    }
+
+    /**
+     * @return The words of the command, separated by spaces
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * @return The containers of the command and every command above it, from the root
+     * of the tree down to the command
+     */
+    public List<AbstractArgs> containers() {
+        return containers;
+    }
+
+    /**
+     * @return The container of the command itself
+     */
+    public AbstractArgs args() {
+        return containers.isEmpty() ? null : containers.get(containers.size() - 1);
+    }
+
+    /**
+     * Gets the container of the given class, such as the class of the global options.
+     * 
+     * @param <A> The container class
+     * @param type The container class
+     * @return The container, or {@code null} if no command on the path has that class
+     */
+    public <A extends AbstractArgs> A args(Class<A> type) {
+        for (int i = containers.size() - 1; i >= 0; i--) {
+            if(type.isInstance(containers.get(i))){
+                return type.cast(containers.get(i));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The index of the first argument after the words of the command
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * @return The errors found in the arguments
+     */
+    public ParseResult result() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Command[" + path + "]";
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+
+/**
+ * Reads command lines, such as the commands typed into a console, and parses each one
+ * into the same container. Before every line the container is {@link AbstractArgs#reset()
+ * reset} to its defaults, and each line is split in place in a reused buffer, so a loop
+ * over many commands creates little more than the values given to fields.
+ * 
+ * <pre>{@code
+ * new CommandLoop<>(Args.class).run(System.in, new CommandLoop.Handler<Args>() {
+ *     public boolean handle(long line, Args args, ParseResult result) {
+ *         if(!result.isSuccess()){
+ *             System.err.println(result.errors());
+ *             return true;
+ *         }
+ *         ...
+ *         return !args.quit;
+ *     }
+ * });
+ * }</pre>
+ * 
+ * A loop is not thread safe; each thread should run its own.
+ * 
+ * @param <T> The argument container class
+ */
+public final class CommandLoop<T extends AbstractArgs> {
+    /**
+     * Receives each parsed command line.
+     * 
+     * @param <T> The argument container class
+     */
+    public interface Handler<T> {
+        /**
+         * Handles one command line. Errors in the line are given in {@code result}
+         * instead of being thrown, so one bad command does not end the loop.
+         * 
+         * @param line The number of the line, starting from 1
+         * @param args The container the line was parsed into, which is reused for the
+         * next line and must not be kept
+         * @param result The errors found in the line
+         * @return If the loop should go on to the next line
+         */
+        boolean handle(long line, T args, ParseResult result);
+    }
+
+    private final Class<T> type;
+    private final T args;
+    private final ArgVector vector = new ArgVector();
+
+    /**
+     * Creates a loop that parses into one instance of {@code type}.
+     * 
+     * @param type The argument container class
+     * @throws IllegalArgumentClassException if {@code type} has no constructor without
+     * parameters
+     */
+    public CommandLoop(Class<T> type) {
+        this.type = type;
+        this.args = Parser.of(type).newInstance();
+    }
+
+    /**
+     * Reads UTF-8 command lines until the stream ends or the handler stops.
+     * 
+     * @param in The command lines, one per line
+     * @param handler Receives each parsed line
+     * @return The number of lines that were read
+     * @throws IOException if the stream cannot be read
+     */
+    public long run(InputStream in, Handler<? super T> handler) throws IOException {
+        return run(new InputStreamReader(in, StandardCharsets.UTF_8), handler);
+    }
+
+    /**
+     * Reads command lines until the reader ends or the handler stops. Blank lines are
+     * skipped.
+     * 
+     * @param in The command lines, one per line
+     * @param handler Receives each parsed line
+     * @return The number of lines that were read
+     * @throws IOException if the reader cannot be read
+     */
+    public long run(Reader in, Handler<? super T> handler) throws IOException {
+        final char[] buffer = new char[8192];
+        char[] line = new char[256];
+        int length = 0;
+        long number = 0;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                final char c = buffer[i];
+                if(c != '\n'){
+                    if(length == line.length){
+                        line = Arrays.copyOf(line, length * 2);
+                    }
+                    line[length++] = c;
+                    continue;
+                }
+
+                number++;
+                if(!handle(line, length, number, handler)){
+                    return number;
+                }
+                length = 0;
+            }
+        }
+        if(length > 0){
+            number++;
+            handle(line, length, number, handler);
+        }
+        return number;
+    }
+
+    /**
+     * Parses one line into the container and hands it to the handler.
+     * 
+     * @return If the loop should go on
+     */
+    private boolean handle(char[] line, int length, long number, Handler<? super T> handler) {
+        if(length > 0 && line[length - 1] == '\r'){
+            length--;
+        }
+        if(isBlank(line, length)){
+            return true;
+        }
+
+        final ParseResult result = ParseResult.collecting(type);
+        args.reset();
+        vector.split(line, 0, length, ArgSchema.of(type).argFiles, result);
+        args.parse(vector, result);
+        return handler.handle(number, args, result);
+    }
+
+    private static boolean isBlank(char[] line, int length) {
+        for (int i = 0; i < length; i++) {
+            if(!Character.isWhitespace(line[i])){
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * A tree of git style commands, such as {@code tool db migrate --dry-run}, where each
+ * command has its own argument container class.
+ * 
+ * <p>
+ * 
+ * The command is found from the leading arguments in a single pass down the tree, and
+ * the rest of the arguments are then parsed into a new container for every command on
+ * the path that has one, from the root to the selected command. Options of a command are
+ * therefore inherited by all of the commands under it, and can also be given before the
+ * words of the commands under it, such as {@code tool -v db migrate}. A word that is not
+ * a command is reported as an unknown command, unless the command it follows has no
+ * subcommands or takes {@link Positional} operands.
+ * 
+ * <p>
+ * 
+ * Commands can be added by class name, in which case their class is only loaded, and
+ * its schema only built, when the command is used. This keeps the start up of a tool
+ * flat however many commands it has.
+ * 
+ * <pre>{@code
+ * CommandTree tree = new CommandTree(GlobalArgs.class)
+ *         .add("db migrate", "com.example.MigrateArgs")
+ *         .add("db status", "com.example.StatusArgs");
+ * Command command = tree.parse(args);
+ * }</pre>
+ * 
+ * A tree should be built before it is shared between threads, after which it can be
+ * used by any number of them.
+ */
+public final class CommandTree {
+    private final Node root = new Node();
+
+    /**
+     * Creates a tree with no options of its own.
+     */
+    public CommandTree() {
+    }
+
+    /**
+     * Creates a tree whose options, given by {@code global}, are inherited by every command.
+     * 
+     * @param global The argument container class of the options every command has
+     */
+    public CommandTree(Class<? extends AbstractArgs> global) {
+        root.type = global;
+    }
+
+    /**
+     * Adds a command.
+     * 
+     * @param path The words of the command, separated by spaces
+     * @param type The argument container class of the command
+     * @return This tree
+     */
+    public CommandTree add(String path, Class<? extends AbstractArgs> type) {
+        node(path).type = type;
+        return this;
+    }
+
+    /**
+     * Adds a command whose class is loaded the first time it is used, through the class
+     * loader that loaded Stomp.
+     * 
+     * @param path The words of the command, separated by spaces
+     * @param className The binary name of the argument container class of the command
+     * @return This tree
+     */
+    public CommandTree add(String path, String className) {
+        return add(path, className, CommandTree.class.getClassLoader());
+    }
+
+    /**
+     * Adds a command whose class is loaded the first time it is used.
+     * 
+     * @param path The words of the command, separated by spaces
+     * @param className The binary name of the argument container class of the command
+     * @param loader The class loader to load the class with
+     * @return This tree
+     */
+    public CommandTree add(String path, String className, ClassLoader loader) {
+        Node node = node(path);
+        node.type = null;
+        node.className = className;
+        node.loader = loader;
+        return this;
+    }
+
+    private Node node(String path) {
+        Node node = root;
+        for (String word : path.trim().split("\\s+")) {
+            if(word.isEmpty()){
+                continue;
+            }
+            Node child = node.children.get(word);
+            if(child == null){
+                child = new Node();
+                node.children.put(word, child);
+            }
+            node = child;
+        }
+        if(node == root){
+            throw new IllegalArgumentException("A command needs at least one word");
+        }
+        return node;
+    }
+
+    /**
+     * Finds the command and parses the rest of the arguments into its containers.
+     * 
+     * @param args The raw given arguments, starting with the command
+     * @return The command that was given
+     * @throws IllegalCommandArgumentException if no command was given, or the arguments
+     * have an error
+     * @throws IllegalArgumentClassException if the class of the command cannot be loaded
+     */
+    public Command parse(String[] args) {
+        return parse(args, ParseResult.THROWING);
+    }
+
+    /**
+     * Finds the command and parses the rest of the arguments into its containers,
+     * collecting every error instead of throwing the first one.
+     * 
+     * @param args The raw given arguments, starting with the command
+     * @return The command that was given, and the errors found in the arguments. If no
+     * command was found the command has no containers
+     * @throws IllegalArgumentClassException if the class of the command cannot be loaded
+     */
+    public Command tryParse(String[] args) {
+        return parse(args, null);
+    }
+
+    private Command parse(String[] args, ParseResult throwing) {
+        // find the command in one pass over the leading arguments, skipping the options
+        // of the commands found so far, which are kept to be parsed with the rest
+        List<Node> path = new ArrayList<>(4);
+        Node node = root;
+        path.add(node);
+        StringBuilder words = new StringBuilder();
+        int[] options = null;
+        int optionCount = 0;
+        int start = 0;
+        while (start < args.length && !node.children.isEmpty()) {
+            final String token = args[start];
+            if(isOption(token)){
+                if(token.equals("--")){
+                    break;
+                }
+                final OptionBinding binding = option(path, token);
+                final int count = binding != null && binding.takesValue && start + 1 < args.length ? 2 : 1;
+                if(options == null){
+                    options = new int[args.length];
+                }
+                for (int i = 0; i < count; i++) {
+                    options[optionCount++] = start++;
+                }
+                continue;
+            }
+            Node child = node.children.get(token);
+            if(child == null){
+                break;
+            }
+            node = child;
+            path.add(node);
+            if(words.length() > 0){
+                words.append(' ');
+            }
+            words.append(token);
+            start++;
+        }
+
+        final Class<? extends AbstractArgs> leaf = node.type();
+        final ParseResult result = throwing != null ? throwing
+                : leaf != null ? ParseResult.collecting(leaf) : new ParseResult(Collections.<Diagnostic>emptyList());
+        final String command = words.toString();
+
+        // a word that is not a command is only an operand of a command without subcommands,
+        // or of one that has positional fields
+        final boolean unknown = leaf == null || (start < args.length && !isOption(args[start]) && !node.children.isEmpty()
+                && ArgSchema.of(leaf).positionals == null);
+        if(unknown){
+            result.report(new Diagnostic(Diagnostic.Code.UNKNOWN_COMMAND, start < args.length
+                    ? format("Unknown command \"%s\".", command.isEmpty() ? args[start] : command + " " + args[start])
+                    : format("No command was given%s.", command.isEmpty() ? "" : " after \"" + command + "\""),
+                    null, start, null));
+            return new Command(command, new ArrayList<AbstractArgs>(0), start, result);
+        }
+
+        if(options != null){
+            for (int i = start; i < args.length; i++) {
+                options[optionCount++] = i;
+            }
+        }
+        List<AbstractArgs> containers = new ArrayList<>(path.size());
+        for (Node step : path) {
+            Class<? extends AbstractArgs> type = step.type();
+            if(type != null){
+                AbstractArgs container = Parser.of(type).newInstance();
+                if(options == null){
+                    container.parse(args, start, args.length, result);
+                } else {
+                    container.parse(ArgVector.select(args, options, optionCount, ArgSchema.of(type).argFiles, result), result);
+                }
+                containers.add(container);
+            }
+        }
+        return new Command(command, containers, start, result);
+    }
+
+    private static boolean isOption(String token) {
+        return token.length() > 1 && token.charAt(0) == '-';
+    }
+
+    /**
+     * @return The binding of the option in the deepest command of {@code path} that has
+     * it, or {@code null} if none of them do
+     */
+    private static OptionBinding option(List<Node> path, String token) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Class<? extends AbstractArgs> type = path.get(i).type();
+            if(type != null){
+                OptionBinding binding = ArgSchema.of(type).options.get(token);
+                if(binding != null){
+                    return binding;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A command, or a word that leads to other commands.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        /** The container class once it is known. */
+        volatile Class<? extends AbstractArgs> type;
+        String className;
+        ClassLoader loader;
+
+        /**
+         * @return The container class, loading it if this is the first time it is needed,
+         * or {@code null} if this node has none
+         */
+        Class<? extends AbstractArgs> type() {
+            Class<? extends AbstractArgs> type = this.type;
+            if(type == null && className != null){
+                try {
+                    type = Class.forName(className, true, loader).asSubclass(AbstractArgs.class);
+                } catch (ClassNotFoundException | ClassCastException | LinkageError e) {
+                    throw new IllegalArgumentClassException(format("Class \"%s\" cannot be loaded as an argument container.", className), e);
+                }
+                this.type = type;
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Completes partial command lines from the options of a container class, for shell tab
+ * completion. Completing never parses the arguments or converts any value; it only
+ * looks at the word before the cursor and the option names, which are sorted once per
+ * class.
+ * 
+ * <p>
+ * 
+ * {@link #script(Class, String, Shell)} writes a completion script with the options
+ * built in, so that shells can complete without starting a JVM at all.
+ */
+public final class Completion {
+    private static final ClassValue<Completion> COMPLETIONS = new ClassValue<Completion>() {
+        @Override
+        protected Completion computeValue(Class<?> type) {
+            return new Completion(ArgSchema.of(type));
+        }
+    };
+
+    /**
+     * The shells that completion scripts can be written for.
+     */
+    public enum Shell {
+        BASH, ZSH, FISH
+    }
+
+    /** Every long and short option, sorted. */
+    private final String[] names;
+    /** The binding of each of {@link #names}. */
+    private final OptionBinding[] bindings;
+    private final OptionBinding[] all;
+
+    private Completion(ArgSchema schema) {
+        List<String> names = new ArrayList<>();
+        for (OptionBinding binding : schema.bindings) {
+            if(schema.options.get(binding.longName) == binding){
+                names.add(binding.longName);
+            }
+            if(binding.shortName != null && schema.options.get(binding.shortName) == binding){
+                names.add(binding.shortName);
+            }
+        }
+        this.names = names.toArray(new String[names.size()]);
+        Arrays.sort(this.names);
+        this.bindings = new OptionBinding[this.names.length];
+        for (int i = 0; i < this.names.length; i++) {
+            bindings[i] = schema.options.get(this.names[i]);
+        }
+        List<OptionBinding> all = new ArrayList<>(schema.bindings.length);
+        for (OptionBinding binding : schema.bindings) {
+            if(!binding.positional){
+                all.add(binding);
+            }
+        }
+        this.all = all.toArray(new OptionBinding[all.size()]);
+    }
+
+    /**
+     * Completes the word at {@code cursor}. If the word before it is an option that takes
+     * a value, the candidates are the constants of an enum option or the files of a path
+     * option; otherwise they are the options that start with the word, leaving out
+     * single valued options that have already been given.
+     * 
+     * @param type The argument container class
+     * @param words The words of the command line, without the name of the program
+     * @param cursor The index of the word being completed, which is {@code words.length}
+     * when a new word is being started
+     * @return The candidates, in order
+     * @throws IndexOutOfBoundsException If {@code cursor} is negative or after
+     * {@code words.length}
+     */
+    public static List<String> complete(Class<? extends AbstractArgs> type, String[] words, int cursor) {
+        if(cursor < 0 || cursor > words.length){
+            throw new IndexOutOfBoundsException("Cursor: " + cursor + ", Words: " + words.length);
+        }
+        return COMPLETIONS.get(type).complete(words, cursor);
+    }
+
+    private List<String> complete(String[] words, int cursor) {
+        final String word = cursor < words.length ? words[cursor] : "";
+        if(cursor > 0){
+            final OptionBinding previous = binding(words[cursor - 1]);
+            if(previous != null && previous.takesValue){
+                return values(previous, word);
+            }
+        }
+        if(!word.isEmpty() && word.charAt(0) != '-'){
+            return Collections.emptyList();
+        }
+
+        List<String> candidates = new ArrayList<>();
+        for (int i = first(word); i < names.length && names[i].startsWith(word); i++) {
+            if(!isGiven(bindings[i], words, cursor)){
+                candidates.add(names[i]);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return The index of the first name that is not before {@code prefix}
+     */
+    private int first(String prefix) {
+        final int found = Arrays.binarySearch(names, prefix);
+        return found < 0 ? -found - 1 : found;
+    }
+
+    private OptionBinding binding(String option) {
+        final int found = Arrays.binarySearch(names, option);
+        return found < 0 ? null : bindings[found];
+    }
+
+    private boolean isGiven(OptionBinding binding, String[] words, int cursor) {
+        if(!binding.firstOnly){
+            return false;
+        }
+        for (int i = 0; i < cursor && i < words.length; i++) {
+            if(binding(words[i]) == binding){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The type of the values given to {@code binding}
+     */
+    private static Class<?> valueType(OptionBinding binding) {
+        if(binding.elementType != null){
+            return binding.elementType;
+        }
+        return binding.lazyType != null ? binding.lazyType : binding.type;
+    }
+
+    private static boolean isPath(Class<?> type) {
+        return type == Path.class || type == File.class;
+    }
+
+    private static List<String> values(OptionBinding binding, String word) {
+        final Class<?> type = valueType(binding);
+        if(type.isEnum()){
+            List<String> candidates = new ArrayList<>();
+            for (Object constant : type.getEnumConstants()) {
+                final String name = ((Enum<?>) constant).name();
+                if(name.toLowerCase(Locale.ROOT).startsWith(word.toLowerCase(Locale.ROOT))){
+                    candidates.add(name);
+                }
+            }
+            return candidates;
+        }
+        if(isPath(type)){
+            return files(word);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return The files and directories that start with {@code word}, with a "/" after
+     * each directory
+     */
+    private static List<String> files(String word) {
+        final int slash = word.lastIndexOf('/');
+        final String directory = slash < 0 ? "" : word.substring(0, slash + 1);
+        final String start = word.substring(slash + 1);
+
+        List<String> candidates = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(Paths.get(directory.isEmpty() ? "." : directory))) {
+            for (Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                if(name.startsWith(start) && (!start.isEmpty() || !name.startsWith("."))){
+                    candidates.add(directory + name + (Files.isDirectory(entry) ? "/" : ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            return Collections.emptyList();
+        }
+        Collections.sort(candidates);
+        return candidates;
+    }
+
+    /**
+     * Writes a completion script for a program whose arguments are parsed into
+     * {@code type}. The options, and the constants of enum options, are written into
+     * the script, and path options complete with the shell's own file completion.
+     * The program and option names are quoted, so they are never run as shell code.
+     * 
+     * @param type The argument container class
+     * @param program The name the program is run by
+     * @param shell The shell to write the script for
+     * @return The script, to be sourced by the shell
+     */
+    public static String script(Class<? extends AbstractArgs> type, String program, Shell shell) {
+        final Completion completion = COMPLETIONS.get(type);
+        switch (shell) {
+            case BASH:
+                return completion.bash(program);
+            case ZSH:
+                return completion.zsh(program);
+            default:
+                return completion.fish(program);
+        }
+    }
+
+    private String bash(String program) {
+        final String function = "_" + program.replaceAll("[^A-Za-z0-9_]", "_") + "_complete";
+        StringBuilder script = new StringBuilder();
+        script.append(function).append("() {\n");
+        script.append("    local cur=\"${COMP_WORDS[COMP_CWORD]}\" prev=\"${COMP_WORDS[COMP_CWORD-1]}\" word\n");
+        script.append("    COMPREPLY=()\n");
+        script.append("    case \"$prev\" in\n");
+        for (OptionBinding binding : all) {
+            if(!binding.takesValue){
+                continue;
+            }
+            script.append("        ").append(quote(binding.longName));
+            if(binding.shortName != null){
+                script.append('|').append(quote(binding.shortName));
+            }
+            script.append(")\n");
+            final Class<?> valueType = valueType(binding);
+            if(valueType.isEnum()){
+                appendBashWords(script, "            ", constants(valueType));
+            } else if(isPath(valueType)){
+                script.append("            COMPREPLY=($(compgen -f -- \"$cur\"))\n");
+            }
+            script.append("            return ;;\n");
+        }
+        script.append("    esac\n");
+        appendBashWords(script, "    ", names);
+        script.append("}\n");
+        script.append("complete -o default -F ").append(function).append(' ').append(quote(program)).append('\n');
+        return script.toString();
+    }
+
+    /**
+     * Appends a loop that adds the words that start with the current word. Unlike
+     * {@code compgen -W}, the loop does not expand the words again.
+     */
+    private static void appendBashWords(StringBuilder script, String indent, String[] words) {
+        script.append(indent).append("for word in");
+        for (String word : words) {
+            script.append(' ').append(quote(word));
+        }
+        script.append("; do\n");
+        script.append(indent).append("    [[ \"$word\" == \"$cur\"* ]] && COMPREPLY+=(\"$word\")\n");
+        script.append(indent).append("done\n");
+    }
+
+    private String zsh(String program) {
+        StringBuilder script = new StringBuilder();
+        script.append("#compdef ").append(program.replaceAll("[^A-Za-z0-9_.+-]", "\\\\$0")).append("\n\n");
+        script.append("_arguments \\\n");
+        for (OptionBinding binding : all) {
+            final String action;
+            if(!binding.takesValue){
+                action = "";
+            } else {
+                final Class<?> valueType = valueType(binding);
+                action = ":" + zshEscape(binding.key) + ":" + (valueType.isEnum() ? "(" + join(constants(valueType)) + ")" : isPath(valueType) ? "_files" : " ");
+            }
+            // arrays and collections can be given again, other options exclude themselves
+            final String exclusions;
+            if(binding.elementType != null){
+                exclusions = "*";
+            } else if(binding.shortName == null){
+                exclusions = "";
+            } else {
+                exclusions = "(" + zshEscape(binding.longName) + " " + zshEscape(binding.shortName) + ")";
+            }
+            script.append("    ").append(quote(exclusions + zshEscape(binding.longName) + action)).append(" \\\n");
+            if(binding.shortName != null){
+                script.append("    ").append(quote(exclusions + zshEscape(binding.shortName) + action)).append(" \\\n");
+            }
+        }
+        script.append("    '*::arg:_default'\n");
+        return script.toString();
+    }
+
+    /**
+     * Escapes the characters that {@code _arguments} reads as part of a spec.
+     */
+    private static String zshEscape(String name) {
+        return name.replaceAll("[\\\\:\\[\\]()*\\s{},]", "\\\\$0");
+    }
+
+    private String fish(String program) {
+        StringBuilder script = new StringBuilder();
+        for (OptionBinding binding : all) {
+            script.append("complete -c ").append(fishQuote(program));
+            appendFishOption(script, binding.longName);
+            if(binding.shortName != null){
+                appendFishOption(script, binding.shortName);
+            }
+            if(binding.takesValue){
+                final Class<?> valueType = valueType(binding);
+                if(valueType.isEnum()){
+                    script.append(" -x -a ").append(fishQuote(join(constants(valueType))));
+                } else if(isPath(valueType)){
+                    script.append(" -r -F");
+                } else {
+                    script.append(" -x");
+                }
+            }
+            script.append('\n');
+        }
+        return script.toString();
+    }
+
+    private static void appendFishOption(StringBuilder script, String option) {
+        if(option.startsWith("--")){
+            script.append(" -l ").append(fishQuote(option.substring(2)));
+        } else if(option.length() == 2){
+            script.append(" -s ").append(fishQuote(option.substring(1)));
+        } else {
+            script.append(" -o ").append(fishQuote(option.substring(1)));
+        }
+    }
+
+    private static String[] constants(Class<?> type) {
+        final Object[] constants = type.getEnumConstants();
+        String[] names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            names[i] = ((Enum<?>) constants[i]).name();
+        }
+        return names;
+    }
+
+    /**
+     * Quotes {@code word} for bash and zsh, where nothing is special inside single quotes.
+     */
+    private static String quote(String word) {
+        return "'" + word.replace("'", "'\\''") + "'";
+    }
+
+    /**
+     * Quotes {@code word} for fish, where backslashes and single quotes are escaped inside
+     * single quotes.
+     */
+    private static String fishQuote(String word) {
+        return "'" + word.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static String join(String[] names) {
+        StringBuilder joined = new StringBuilder();
+        for (String name : names) {
+            if(joined.length() > 0){
+                joined.append(' ');
+            }
+            joined.append(name);
+        }
+        return joined.toString();
+    }
+}
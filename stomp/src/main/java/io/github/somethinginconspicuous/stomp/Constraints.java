@@ -0,0 +1,373 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+/**
+ * The validation plan of an argument container class, compiled from its {@link Range},
+ * {@link Pattern}, {@link OneOf}, {@link Exclusive} and {@link Requires} annotations
+ * when its {@link ArgSchema} is built. Regular expressions are compiled once, and groups
+ * and dependencies are bitsets over the bindings, so checking them is a few mask
+ * operations on the bitset of options that were given.
+ */
+final class Constraints {
+    private final Check[] checks;
+    private final String[] groupNames;
+    /** One mask of bindings per exclusive group. */
+    private final long[][] groups;
+    private final OptionBinding[] dependents;
+    /** The mask of bindings each of {@link #dependents} requires. */
+    private final long[][] dependencies;
+    private final OptionBinding[] bindings;
+
+    private Constraints(Check[] checks, String[] groupNames, long[][] groups, OptionBinding[] dependents, long[][] dependencies, OptionBinding[] bindings) {
+        this.checks = checks;
+        this.groupNames = groupNames;
+        this.groups = groups;
+        this.dependents = dependents;
+        this.dependencies = dependencies;
+        this.bindings = bindings;
+    }
+
+    /**
+     * Compiles the constraints of the given bindings.
+     * 
+     * @param warnings Where constraints that cannot be used are added
+     * @return The constraints, or {@code null} if there are none
+     */
+    static Constraints of(OptionBinding[] bindings, OptionIndex options, int bitWords, List<Diagnostic> warnings) {
+        List<Check> checks = new ArrayList<>();
+        Map<String, long[]> groups = new LinkedHashMap<>();
+        List<OptionBinding> dependents = new ArrayList<>();
+        List<long[]> dependencies = new ArrayList<>();
+
+        for (OptionBinding binding : bindings) {
+            final Field field = binding.field;
+            try {
+                Range range = field.getAnnotation(Range.class);
+                RangeCheck rangeCheck = range == null ? null : RangeCheck.of(binding, range, warnings);
+                if(rangeCheck != null){
+                    checks.add(rangeCheck);
+                }
+                Pattern pattern = field.getAnnotation(Pattern.class);
+                if(pattern != null){
+                    checks.add(new PatternCheck(binding, java.util.regex.Pattern.compile(pattern.value())));
+                }
+                OneOf oneOf = field.getAnnotation(OneOf.class);
+                if(oneOf != null){
+                    checks.add(new OneOfCheck(binding, oneOf.value()));
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                warnings.add(invalid(format("The constraints of field \"%s\" cannot be used with it.", field), e));
+            }
+
+            Exclusive exclusive = field.getAnnotation(Exclusive.class);
+            if(exclusive != null){
+                for (String group : exclusive.value()) {
+                    long[] mask = groups.get(group);
+                    if(mask == null){
+                        groups.put(group, mask = new long[bitWords]);
+                    }
+                    mask[binding.index >>> 6] |= 1L << binding.index;
+                }
+            }
+
+            Requires requires = field.getAnnotation(Requires.class);
+            if(requires != null){
+                long[] mask = new long[bitWords];
+                for (String option : requires.value()) {
+                    OptionBinding required = options.get(option.startsWith("--") ? option : "--" + option);
+                    if(required == null){
+                        warnings.add(invalid(format("Field \"%s\" requires option \"%s\", which does not exist.", field, option), null));
+                        continue;
+                    }
+                    mask[required.index >>> 6] |= 1L << required.index;
+                }
+                dependents.add(binding);
+                dependencies.add(mask);
+            }
+        }
+
+        if(checks.isEmpty() && groups.isEmpty() && dependents.isEmpty()){
+            return null;
+        }
+        return new Constraints(checks.toArray(new Check[checks.size()]),
+                groups.keySet().toArray(new String[groups.size()]), groups.values().toArray(new long[groups.size()][]),
+                dependents.toArray(new OptionBinding[dependents.size()]), dependencies.toArray(new long[dependencies.size()][]),
+                bindings);
+    }
+
+    private static Diagnostic invalid(String message, Throwable cause) {
+        return new Diagnostic(Code.INVALID_CONSTRAINT, message, null, -1, cause);
+    }
+
+    /**
+     * Checks the options that were given, reporting every violation.
+     * 
+     * @param target The container the options were parsed into
+     * @param set The bindings that were given a value
+     */
+    void check(Object target, long[] set, ParseResult result) {
+        for (Check check : checks) {
+            final int index = check.binding.index;
+            if((set[index >>> 6] & (1L << index)) != 0){
+                check.check(target, result);
+            }
+        }
+
+        for (int g = 0; g < groups.length; g++) {
+            int given = 0;
+            for (int w = 0; w < set.length; w++) {
+                given += Long.bitCount(set[w] & groups[g][w]);
+            }
+            if(given > 1){
+                final String options = names(set, groups[g]);
+                result.report(new Diagnostic(Code.CONFLICTING_OPTIONS, format("Arguments %s cannot be given together (group \"%s\").", options, groupNames[g]), null, -1, null));
+            }
+        }
+
+        for (int d = 0; d < dependents.length; d++) {
+            final int index = dependents[d].index;
+            if((set[index >>> 6] & (1L << index)) == 0){
+                continue;
+            }
+            final long[] missing = new long[set.length];
+            boolean anyMissing = false;
+            for (int w = 0; w < set.length; w++) {
+                missing[w] = dependencies[d][w] & ~set[w];
+                anyMissing |= missing[w] != 0;
+            }
+            if(anyMissing){
+                result.report(new Diagnostic(Code.MISSING_DEPENDENCY, format("Argument %s requires %s.", dependents[d].longName, names(missing, missing)),
+                        dependents[d].longName, -1, null));
+            }
+        }
+    }
+
+    /**
+     * @return The long names of the bindings in both {@code a} and {@code b}
+     */
+    private String names(long[] a, long[] b) {
+        StringBuilder names = new StringBuilder();
+        for (OptionBinding binding : bindings) {
+            final int w = binding.index >>> 6;
+            if((a[w] & b[w] & (1L << binding.index)) != 0){
+                if(names.length() > 0){
+                    names.append(", ");
+                }
+                names.append(binding.longName);
+            }
+        }
+        return names.toString();
+    }
+
+    /**
+     * @return A getter of the field of {@code binding}, as {@code (Object)type}
+     */
+    private static MethodHandle getter(OptionBinding binding, Class<?> type) throws IllegalAccessException {
+        if(binding.writer != null){
+            return binding.writer.getter(type);
+        }
+        MethodHandle getter = MethodHandles.lookup().unreflectGetter(binding.field);
+        if(Modifier.isStatic(binding.field.getModifiers())){
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        return getter.asType(MethodType.methodType(type, Object.class));
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if(e instanceof RuntimeException){
+            return (RuntimeException) e;
+        }
+        if(e instanceof Error){
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * A check of the value of one field.
+     */
+    private abstract static class Check {
+        final OptionBinding binding;
+
+        Check(OptionBinding binding) {
+            this.binding = binding;
+        }
+
+        abstract void check(Object target, ParseResult result);
+    }
+
+    private static final class RangeCheck extends Check {
+        private final long min;
+        private final long max;
+        private final double minValue;
+        private final double maxValue;
+        /** The getter as {@code (Object)long}, or {@code null} for floating point fields. */
+        private final MethodHandle longGetter;
+        /** The getter as {@code (Object)double}, or {@code null} for integer fields. */
+        private final MethodHandle doubleGetter;
+        /** The range, as it is written in the error, such as "from 1 to 8". */
+        private final String bounds;
+
+        private RangeCheck(OptionBinding binding, Range range, MethodHandle longGetter, MethodHandle doubleGetter) {
+            super(binding);
+            this.min = range.min();
+            this.max = range.max();
+            this.minValue = range.minValue();
+            this.maxValue = range.maxValue();
+            this.longGetter = longGetter;
+            this.doubleGetter = doubleGetter;
+            this.bounds = bounds(range);
+        }
+
+        static RangeCheck of(OptionBinding binding, Range range, List<Diagnostic> warnings) throws IllegalAccessException {
+            final Class<?> type = binding.type;
+            if(type == int.class || type == long.class || type == short.class || type == byte.class
+                    || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class){
+                return new RangeCheck(binding, range, getter(binding, long.class), null);
+            }
+            if(type == float.class || type == double.class || type == Float.class || type == Double.class){
+                return new RangeCheck(binding, range, null, getter(binding, double.class));
+            }
+            warnings.add(invalid(format("@Range cannot be used on field \"%s\", which is not a number.", binding.field), null));
+            return null;
+        }
+
+        private static String bounds(Range range) {
+            if(range.minValue() == Double.NEGATIVE_INFINITY && range.maxValue() == Double.POSITIVE_INFINITY){
+                final long min = range.min();
+                final long max = range.max();
+                return min == Long.MIN_VALUE ? format("at most %d", max)
+                        : max == Long.MAX_VALUE ? format("at least %d", min) : format("from %d to %d", min, max);
+            }
+            // the tighter of each pair of bounds
+            final String min = range.min() == Long.MIN_VALUE || range.minValue() > range.min()
+                    ? Double.toString(range.minValue()) : Long.toString(range.min());
+            final String max = range.max() == Long.MAX_VALUE || range.maxValue() < range.max()
+                    ? Double.toString(range.maxValue()) : Long.toString(range.max());
+            return range.minValue() == Double.NEGATIVE_INFINITY && range.min() == Long.MIN_VALUE ? "at most " + max
+                    : range.maxValue() == Double.POSITIVE_INFINITY && range.max() == Long.MAX_VALUE ? "at least " + min
+                    : "from " + min + " to " + max;
+        }
+
+        @Override
+        void check(Object target, ParseResult result) {
+            final boolean inRange;
+            final String value;
+            try {
+                if(longGetter != null){
+                    final long number = (long) longGetter.invokeExact(target);
+                    inRange = number >= min && number <= max && number >= minValue && number <= maxValue;
+                    value = Long.toString(number);
+                } else {
+                    final double number = (double) doubleGetter.invokeExact(target);
+                    inRange = number >= min && number <= max && number >= minValue && number <= maxValue;
+                    value = Double.toString(number);
+                }
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+            if(!inRange){
+                result.report(new Diagnostic(Code.OUT_OF_RANGE, format("Argument %s must be %s, but was %s.", binding.longName, bounds, value),
+                        binding.longName, -1, null));
+            }
+        }
+    }
+
+    private static final class PatternCheck extends Check {
+        private final java.util.regex.Pattern pattern;
+        private final MethodHandle getter;
+
+        PatternCheck(OptionBinding binding, java.util.regex.Pattern pattern) throws IllegalAccessException {
+            super(binding);
+            if(binding.type != String.class){
+                throw new IllegalArgumentException("@Pattern can only be used on String fields");
+            }
+            this.pattern = pattern;
+            this.getter = getter(binding, Object.class);
+        }
+
+        @Override
+        void check(Object target, ParseResult result) {
+            final String value;
+            try {
+                value = (String) (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+            if(value != null && !pattern.matcher(value).matches()){
+                result.report(new Diagnostic(Code.NOT_ALLOWED, format("Argument %s must match \"%s\", but was \"%s\".", binding.longName, pattern.pattern(), value),
+                        binding.longName, -1, null));
+            }
+        }
+    }
+
+    private static final class OneOfCheck extends Check {
+        private final Set<String> allowed;
+        private final String[] values;
+        private final MethodHandle getter;
+
+        OneOfCheck(OptionBinding binding, String[] values) throws IllegalAccessException {
+            super(binding);
+            if(binding.type != String.class){
+                throw new IllegalArgumentException("@OneOf can only be used on String fields");
+            }
+            this.allowed = new HashSet<>(Arrays.asList(values));
+            this.values = values.clone();
+            this.getter = getter(binding, Object.class);
+        }
+
+        @Override
+        void check(Object target, ParseResult result) {
+            final String value;
+            try {
+                value = (String) (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+            if(value != null && !allowed.contains(value)){
+                result.report(new Diagnostic(Code.NOT_ALLOWED, format("Argument %s must be one of %s, but was \"%s\".", binding.longName, Arrays.toString(values), value),
+                        binding.longName, -1, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The registry of {@link Converter converters}. The converter of an argument field is
+ * looked up once, when the schema of its class is built, from the first of
+ * 
+ * <ol>
+ * <li>converters given to {@link #register(Class, Converter)}</li>
+ * <li>{@link ConverterProvider providers} found through {@link ServiceLoader}</li>
+ * <li>the built in converters, for enums (by constant name, ignoring case if that is
+ * not ambiguous), {@link Path}, {@link InetAddress}, and any type with a public static
+ * {@code valueOf}, {@code parse}, {@code of}, {@code fromString} or {@code compile}
+ * method that takes a single string, or a public constructor that does</li>
+ * </ol>
+ * 
+ * Since converters are found with the schema, they must be registered before the
+ * classes that use them are first parsed or {@link Stomp#warmUp() warmed up}. A converter
+ * registered for a type that a schema already found a converter for is only used by the
+ * schemas built after it, and a warning is written to {@code System.err}.
+ */
+public final class Converters {
+    private static final ConcurrentMap<Class<?>, Converter<?>> REGISTERED = new ConcurrentHashMap<>();
+
+    /** If a schema has found the converter of each type, which a later register does not change. */
+    private static final ClassValue<AtomicBoolean> BOUND = new ClassValue<AtomicBoolean>() {
+        @Override
+        protected AtomicBoolean computeValue(Class<?> type) {
+            return new AtomicBoolean();
+        }
+    };
+
+    private static final String[] FACTORY_NAMES = {"valueOf", "parse", "of", "fromString", "compile"};
+
+    private static final Converter<Path> PATH = new Converter<Path>() {
+        @Override
+        public Path convert(String value) {
+            return Paths.get(value);
+        }
+    };
+
+    private static final Converter<InetAddress> INET_ADDRESS = new Converter<InetAddress>() {
+        @Override
+        public InetAddress convert(String value) throws Exception {
+            return InetAddress.getByName(value);
+        }
+    };
+
+    private Converters() {
+    }
+
+    /**
+     * Registers the converter to use for fields of the given type, replacing any
+     * converter registered for it before.
+     * 
+     * @param <T> The type to convert to
+     * @param type The exact type of the fields to convert
+     * @param converter The converter
+     */
+    public static <T> void register(Class<T> type, Converter<? extends T> converter) {
+        if(type == null || converter == null){
+            throw new NullPointerException();
+        }
+        REGISTERED.put(type, converter);
+        if(BOUND.get(type).getAndSet(false)){
+            System.err.println(format("Converter of %s was registered after a class with a field of that type was parsed, "
+                    + "those classes keep their old converter.", type.getName()));
+        }
+    }
+
+    /**
+     * Finds the converter for the given type, in the order described by {@link Converters}.
+     * 
+     * @param <T> The type to convert to
+     * @param type The type of an argument field
+     * @return The converter, or {@code null} if the type cannot be converted from a string
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Converter<T> find(Class<T> type) {
+        Converter<T> converter = (Converter<T>) REGISTERED.get(type);
+        if(converter != null){
+            return converter;
+        }
+        for (ConverterProvider provider : Providers.PROVIDERS) {
+            converter = provider.converterFor(type);
+            if(converter != null){
+                return converter;
+            }
+        }
+        return builtIn(type);
+    }
+
+    /**
+     * Finds the converter for the field of a schema, remembering that a later register of
+     * the type is too late for it.
+     */
+    static <T> Converter<T> bind(Class<T> type) {
+        BOUND.get(type).set(true);
+        return find(type);
+    }
+
+    /**
+     * @return If {@code converter} is one of the built in converters, rather than one that
+     * was registered or given by a provider
+     */
+    static boolean isBuiltIn(Converter<?> converter) {
+        return converter instanceof HandleConverter || converter instanceof EnumConverter
+                || converter == PATH || converter == INET_ADDRESS;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static <T> Converter<T> builtIn(Class<T> type) {
+        if(type.isEnum()){
+            return new EnumConverter(type);
+        }
+        if(type == Path.class){
+            return (Converter<T>) PATH;
+        }
+        if(type == InetAddress.class){
+            return (Converter<T>) INET_ADDRESS;
+        }
+
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            for (String name : FACTORY_NAMES) {
+                for (Class<?> parameter : new Class<?>[] {String.class, CharSequence.class}) {
+                    Method factory = publicMethod(type, name, parameter);
+                    if(factory != null && Modifier.isStatic(factory.getModifiers()) && type.isAssignableFrom(factory.getReturnType())){
+                        return new HandleConverter<>(lookup.unreflect(factory));
+                    }
+                }
+            }
+            if(!type.isInterface() && !Modifier.isAbstract(type.getModifiers())){
+                Constructor<T> constructor = type.getConstructor(String.class);
+                return new HandleConverter<>(lookup.unreflectConstructor(constructor));
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            // not convertible
+        }
+        return null;
+    }
+
+    private static Method publicMethod(Class<?> type, String name, Class<?> parameter) {
+        try {
+            return type.getMethod(name, parameter);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts through a static factory or constructor.
+     */
+    private static final class HandleConverter<T> implements Converter<T> {
+        /** As {@code (String)Object}. */
+        private final MethodHandle handle;
+
+        HandleConverter(MethodHandle handle) {
+            this.handle = handle.asType(MethodType.methodType(Object.class, String.class));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T convert(String value) throws Exception {
+            try {
+                return (T) (Object) handle.invokeExact(value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Converts to an enum constant through a table of the constant names.
+     */
+    private static final class EnumConverter<E extends Enum<E>> implements Converter<E> {
+        private final Map<String, E> constants;
+        private final String names;
+
+        EnumConverter(Class<E> type) {
+            E[] values = type.getEnumConstants();
+            Map<String, E> constants = new HashMap<>(values.length * 4);
+            Map<String, E> ignoringCase = new HashMap<>(values.length * 2);
+            List<String> ambiguous = new ArrayList<>();
+            for (E value : values) {
+                constants.put(value.name(), value);
+                String lower = value.name().toLowerCase(Locale.ROOT);
+                if(ignoringCase.put(lower, value) != null){
+                    ambiguous.add(lower);
+                }
+            }
+            ignoringCase.keySet().removeAll(ambiguous);
+            for (Map.Entry<String, E> entry : ignoringCase.entrySet()) {
+                if(!constants.containsKey(entry.getKey())){
+                    constants.put(entry.getKey(), entry.getValue());
+                }
+            }
+            this.constants = constants;
+            this.names = Arrays.toString(values);
+        }
+
+        @Override
+        public E convert(String value) {
+            E constant = constants.get(value);
+            if(constant == null){
+                constant = constants.get(value.toLowerCase(Locale.ROOT));
+            }
+            if(constant == null){
+                throw new IllegalArgumentException("Expected one of " + names);
+            }
+            return constant;
+        }
+    }
+
+    /**
+     * The providers found through {@link ServiceLoader}, loaded the first time they are needed.
+     */
+    private static final class Providers {
+        static final List<ConverterProvider> PROVIDERS = load();
+
+        private static List<ConverterProvider> load() {
+            List<ConverterProvider> providers = new ArrayList<>();
+            Iterator<ConverterProvider> iterator = ServiceLoader.load(ConverterProvider.class).iterator();
+            while (true) {
+                try {
+                    if(!iterator.hasNext()){
+                        break;
+                    }
+                    providers.add(iterator.next());
+                } catch (ServiceConfigurationError e) {
+                    System.err.println("Skipping converter provider: " + e.getMessage());
+                }
+            }
+            return Collections.unmodifiableList(providers);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The default values of the argument fields of a container class, used by
+ * {@link AbstractArgs#reset()}. The defaults are held by one template instance, made
+ * the first time the class is reset, and are copied field by field through handles that
+ * never box primitives. The same handles copy the parsed templates of a {@link ParseCache}.
+ */
+final class Defaults {
+    private static final ClassValue<Defaults> DEFAULTS = new ClassValue<Defaults>() {
+        @Override
+        protected Defaults computeValue(Class<?> type) {
+            return new Defaults(type.asSubclass(AbstractArgs.class));
+        }
+    };
+    private static final MethodType COPY = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Object template;
+    /** One handle per argument field, as {@code (Object target, Object source)void}. */
+    private final MethodHandle[] copiers;
+
+    private Defaults(Class<? extends AbstractArgs> type) {
+        this.template = Instantiator.of(type).newInstance();
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<MethodHandle> copiers = new ArrayList<>();
+        for (OptionBinding binding : ArgSchema.of(type).bindings) {
+            if(binding.writer == null || Modifier.isStatic(binding.field.getModifiers())){
+                continue; // static fields are not part of an instance
+            }
+            try {
+                // setter(target, getter(template))
+                MethodHandle copier = MethodHandles.filterArguments(lookup.unreflectSetter(binding.field), 1, lookup.unreflectGetter(binding.field));
+                copiers.add(copier.asType(COPY));
+            } catch (IllegalAccessException e) {
+                // reported as unwritable when the schema was built
+            }
+        }
+        this.copiers = copiers.toArray(new MethodHandle[copiers.size()]);
+    }
+
+    /**
+     * Gets the defaults of the given argument container class.
+     */
+    static Defaults of(Class<? extends AbstractArgs> type) {
+        return DEFAULTS.get(type);
+    }
+
+    /**
+     * Gives every argument field of {@code target} its default value.
+     */
+    void reset(Object target) {
+        copy(target, template);
+    }
+
+    /**
+     * Gives every argument field of {@code target} the value it has in {@code source}.
+     */
+    void copy(Object target, Object source) {
+        for (MethodHandle copier : copiers) {
+            try {
+                copier.invokeExact(target, source);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
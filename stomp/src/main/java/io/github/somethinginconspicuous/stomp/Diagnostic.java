@@ -0,0 +1,258 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.util.List;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentFieldException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * A single problem found while building the schema of an argument container class or
+ * while parsing arguments into it. A diagnostic is a plain value: no stack trace is
+ * filled in unless {@link #toException()} is called.
+ * 
+ * @see ParseResult
+ */
+public final class Diagnostic {
+    /**
+     * How bad a {@link Diagnostic} is.
+     */
+    public enum Severity {
+        /** The container class is set up in a way that will not work as expected. */
+        WARNING,
+        /** The given arguments could not be parsed. */
+        ERROR
+    }
+
+    /**
+     * What kind of problem a {@link Diagnostic} is.
+     */
+    public enum Code {
+        /** A field has neither an {@link Arg} nor a {@link NotArg} annotation. */
+        MISSING_ANNOTATION(Severity.WARNING),
+        /** An argument field is {@code static}. */
+        STATIC_FIELD(Severity.WARNING),
+        /** An argument field cannot be written by the parser. */
+        UNWRITABLE_FIELD(Severity.WARNING),
+        /** Two argument fields use the same option. */
+        DUPLICATE_OPTION(Severity.WARNING),
+        /** An argument field is of a type that cannot be built from a string. */
+        UNSUPPORTED_TYPE(Severity.WARNING),
+        /** A validation annotation cannot be used on its field, or names an option that does not exist. */
+        INVALID_CONSTRAINT(Severity.WARNING),
+
+        /** An option that needs a value was the last argument. */
+        MISSING_VALUE(Severity.ERROR),
+        /** The value of an option could not be converted to the type of its field. */
+        INVALID_VALUE(Severity.ERROR),
+        /** A required option was not given. */
+        MISSING_REQUIRED(Severity.ERROR),
+        /** An {@link ArgFiles argument file} could not be read. */
+        UNREADABLE_ARG_FILE(Severity.ERROR),
+        /** The arguments did not start with a command of a {@link CommandTree}. */
+        UNKNOWN_COMMAND(Severity.ERROR),
+        /** An option is not an option of a container with {@link Abbreviations}. */
+        UNKNOWN_OPTION(Severity.ERROR),
+        /** An abbreviated option is the start of more than one option. */
+        AMBIGUOUS_OPTION(Severity.ERROR),
+        /** The value of an option is outside of its {@link Range}. */
+        OUT_OF_RANGE(Severity.ERROR),
+        /** The value of an option does not match its {@link Pattern}, or is not {@link OneOf} its values. */
+        NOT_ALLOWED(Severity.ERROR),
+        /** More than one option of an {@link Exclusive} group was given. */
+        CONFLICTING_OPTIONS(Severity.ERROR),
+        /** An option was given without the options it {@link Requires}. */
+        MISSING_DEPENDENCY(Severity.ERROR),
+        /** An argument is not an option, and there is no {@link Positional} field left for it. */
+        UNEXPECTED_OPERAND(Severity.ERROR);
+
+        private final Severity severity;
+
+        Code(Severity severity) {
+            this.severity = severity;
+        }
+
+        public Severity severity() {
+            return severity;
+        }
+    }
+
+    private final Code code;
+    private final String message;
+    private final String option;
+    private final int index;
+    private final Throwable cause;
+
+    /**
+     * Creates a diagnostic. Parsers should prefer the factory methods, which give
+     * the same messages as the rest of Stomp.
+     * 
+     * @param code What kind of problem this is
+     * @param message A readable description of the problem
+     * @param option The option the problem is about, or {@code null}
+     * @param index The index of the argument the problem is about, or -1
+     * @param cause The exception that caused the problem, or {@code null}
+     */
+    public Diagnostic(Code code, String message, String option, int index, Throwable cause) {
+        this.code = code;
+        this.message = message;
+        this.option = option;
+        this.index = index;
+        this.cause = cause;
+    }
+
+    /**
+     * An option that needs a value was given as the last argument.
+     */
+    public static Diagnostic missingValue(String option, int index) {
+        return new Diagnostic(Code.MISSING_VALUE, format("No given value found for argument %s.", option), option, index, null);
+    }
+
+    /**
+     * The value of an option could not be converted.
+     * 
+     * @param typeName The name of the type the value should have been, such as "int"
+     */
+    public static Diagnostic invalidValue(String option, String value, String typeName, int index) {
+        return invalidValue(option, value, typeName, index, null);
+    }
+
+    /**
+     * The value of an option could not be converted, because of {@code cause}.
+     * 
+     * @param typeName The name of the type the value should have been, such as "int"
+     */
+    public static Diagnostic invalidValue(String option, String value, String typeName, int index, Throwable cause) {
+        return new Diagnostic(Code.INVALID_VALUE, format("Cannot convert argument \"%s\" to %s value", value, typeName), option, index, cause);
+    }
+
+    /**
+     * A required option was not given.
+     */
+    public static Diagnostic missingRequired(String option) {
+        return new Diagnostic(Code.MISSING_REQUIRED, format("Argument \"%s\" is required, yet no given argument corrosponds to it.", option), option, -1, null);
+    }
+
+    /**
+     * An option was not found in a container with {@link Abbreviations}.
+     * 
+     * @param suggestions The options that were most likely meant, closest first
+     */
+    public static Diagnostic unknownOption(String option, int index, List<String> suggestions) {
+        return new Diagnostic(Code.UNKNOWN_OPTION, format("Unknown option \"%s\".%s", option,
+                suggestions.isEmpty() ? "" : format(" Did you mean %s?", join(suggestions, " or "))), option, index, null);
+    }
+
+    /**
+     * An abbreviated option could be more than one option.
+     * 
+     * @param candidates Some of the options it could be
+     */
+    public static Diagnostic ambiguousOption(String option, int index, List<String> candidates) {
+        return new Diagnostic(Code.AMBIGUOUS_OPTION, format("Option \"%s\" is ambiguous, it could be %s.", option, join(candidates, ", ")), option, index, null);
+    }
+
+    private static String join(List<String> options, String separator) {
+        StringBuilder joined = new StringBuilder();
+        for (String option : options) {
+            if(joined.length() > 0){
+                joined.append(separator);
+            }
+            joined.append('"').append(option).append('"');
+        }
+        return joined.toString();
+    }
+
+    /**
+     * An argument is not an option or the value of one, and there is no {@link Positional}
+     * field left to take it.
+     */
+    public static Diagnostic unexpectedOperand(String operand, int index) {
+        return new Diagnostic(Code.UNEXPECTED_OPERAND, format("Unexpected argument \"%s\".", operand), null, index, null);
+    }
+
+    /**
+     * An {@link ArgFiles argument file} could not be read.
+     */
+    public static Diagnostic unreadableArgFile(String file, int index, Throwable cause) {
+        return new Diagnostic(Code.UNREADABLE_ARG_FILE, format("Cannot read argument file \"%s\".", file), null, index, cause);
+    }
+
+    public Code code() {
+        return code;
+    }
+
+    public Severity severity() {
+        return code.severity();
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * @return The option this is about, or {@code null} if it is not about an option
+     */
+    public String option() {
+        return option;
+    }
+
+    /**
+     * @return The index of the argument this is about, or -1 if it is not about an argument
+     */
+    public int index() {
+        return index;
+    }
+
+    /**
+     * @return The exception that caused this, or {@code null}
+     */
+    public Throwable cause() {
+        return cause;
+    }
+
+    /**
+     * Creates the exception that Stomp used to throw or print for this problem. This is
+     * the only point where a stack trace is filled in.
+     * 
+     * @return An {@link IllegalCommandArgumentException} for errors, or an
+     * {@link IllegalArgumentFieldException} for warnings
+     */
+    public Exception toException() {
+        if(severity() == Severity.ERROR){
+            return cause == null ? new IllegalCommandArgumentException(message) : new IllegalCommandArgumentException(message, cause);
+        }
+        return cause == null ? new IllegalArgumentFieldException(message) : new IllegalArgumentFieldException(message, cause);
+    }
+
+    @Override
+    public String toString() {
+        return code + ": " + message;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Writes values into a single argument field through method handles that are resolved
+ * once, when the field's {@link OptionBinding} is built.
+ * 
+ * <p>
+ * 
+ * The setter handle is adapted to take the field's value as its primitive type (an
+ * {@code Integer} field is written through {@link #setInt(Object, int)}, for example),
+ * so primitive fields are written without boxing the value, and no access checks are
+ * done when a field is written.
+ * 
+ * <p>
+ * 
+ * The components of a record cannot be written, so a record is parsed into an
+ * {@code Object[]} of its components first, through writers made by
+ * {@link #slot(int, Class)}.
+ */
+final class FieldWriter {
+    private static final MethodHandle IS_TRUE;
+    static {
+        try {
+            IS_TRUE = MethodHandles.lookup().findVirtual(Boolean.class, "equals", MethodType.methodType(boolean.class, Object.class))
+                    .bindTo(Boolean.TRUE)
+                    .asType(MethodType.methodType(boolean.class, Boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** The field's setter, as {@code (Object, V)void} where {@code V} is {@link #valueType}. */
+    private final MethodHandle setter;
+    /** The field's getter as {@code (Object)boolean}, or {@code null} if the field is not a boolean. */
+    private final MethodHandle booleanGetter;
+    /** The field's getter, as {@code (Object)T} where {@code T} is the type of the field. */
+    private final MethodHandle getter;
+    private final Class<?> valueType;
+
+    /**
+     * Resolves the handles of a field.
+     * 
+     * @param field The argument field
+     * @throws IllegalAccessException if the field cannot be written
+     */
+    FieldWriter(Field field) throws IllegalAccessException {
+        field.setAccessible(true);
+
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        final Class<?> type = field.getType();
+
+        this.valueType = valueTypeOf(type);
+
+        MethodHandle setter = lookup.unreflectSetter(field);
+        if(isStatic){
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        MethodHandle getter = lookup.unreflectGetter(field);
+        if(isStatic){
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        this.setter = setter.asType(MethodType.methodType(void.class, Object.class, valueType));
+        this.getter = getter.asType(MethodType.methodType(type, Object.class));
+        this.booleanGetter = booleanGetter(this.getter, type);
+    }
+
+    /**
+     * Creates the writer of one element of an {@code Object[]}, which holds a value of
+     * {@code type}.
+     */
+    private FieldWriter(int slot, Class<?> type) {
+        this.valueType = valueTypeOf(type);
+        final MethodHandle setter = MethodHandles.insertArguments(MethodHandles.arrayElementSetter(Object[].class), 1, slot);
+        final MethodHandle getter = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, slot);
+        this.setter = setter.asType(MethodType.methodType(void.class, Object.class, valueType));
+        this.getter = getter.asType(MethodType.methodType(type.isPrimitive() ? wrapperOf(type) : type, Object.class));
+        this.booleanGetter = booleanGetter(this.getter, type);
+    }
+
+    /**
+     * Creates the writer of element {@code slot} of an {@code Object[]}, such as the
+     * values of the components of a record. Primitive values are boxed.
+     * 
+     * @param type The type of the value, such as the type of the record component
+     */
+    static FieldWriter slot(int slot, Class<?> type) {
+        return new FieldWriter(slot, type);
+    }
+
+    /**
+     * @return The getter of a boolean as {@code (Object)boolean}, or {@code null} if
+     * {@code type} is not a boolean
+     */
+    private static MethodHandle booleanGetter(MethodHandle getter, Class<?> type) {
+        if(type != boolean.class && type != Boolean.class){
+            return null;
+        }
+        if(getter.type().returnType() == Boolean.class){
+            // a Boolean that has not been given a value toggles as if it was false
+            getter = MethodHandles.filterReturnValue(getter, IS_TRUE);
+        }
+        return getter.asType(MethodType.methodType(boolean.class, Object.class));
+    }
+
+    private static Class<?> wrapperOf(Class<?> type) {
+        if(type == int.class) return Integer.class;
+        if(type == long.class) return Long.class;
+        if(type == float.class) return Float.class;
+        if(type == double.class) return Double.class;
+        if(type == byte.class) return Byte.class;
+        if(type == short.class) return Short.class;
+        if(type == char.class) return Character.class;
+        return Boolean.class;
+    }
+
+    private static Class<?> valueTypeOf(Class<?> type) {
+        if(type.isPrimitive()){
+            return type;
+        }
+        if(type == Integer.class) return int.class;
+        if(type == Long.class) return long.class;
+        if(type == Float.class) return float.class;
+        if(type == Double.class) return double.class;
+        if(type == Byte.class) return byte.class;
+        if(type == Short.class) return short.class;
+        if(type == Character.class) return char.class;
+        if(type == Boolean.class) return boolean.class;
+        if(type == String.class) return String.class;
+        return Object.class;
+    }
+
+    void setString(Object target, String value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setObject(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setInt(Object target, int value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setLong(Object target, long value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setFloat(Object target, float value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setDouble(Object target, double value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setByte(Object target, byte value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setShort(Object target, short value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setChar(Object target, char value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    void setBoolean(Object target, boolean value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    boolean getBoolean(Object target) {
+        try {
+            return (boolean) booleanGetter.invokeExact(target);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * @return A getter of the field, as {@code (Object)type}
+     */
+    MethodHandle getter(Class<?> type) {
+        return getter.asType(MethodType.methodType(type, Object.class));
+    }
+
+    /**
+     * Inverts the value of a boolean field.
+     */
+    void toggle(Object target) {
+        setBoolean(target, !getBoolean(target));
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if(e instanceof RuntimeException){
+            return (RuntimeException) e;
+        }
+        if(e instanceof Error){
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Records parses as Flight Recorder events. This is the only class that uses
+ * {@code jdk.jfr}, and it is only loaded by {@link Instrumentation#enableFlightRecorder()}.
+ * Each event begins when its parse starts, so its duration is the time of the parse.
+ */
+final class FlightRecorderListener implements ParseStartListener {
+    @Override
+    public void started(ParseTrace trace) {
+        final ParseEvent event = new ParseEvent();
+        if(event.isEnabled()){
+            event.begin();
+            trace.event = event;
+        }
+    }
+
+    @Override
+    public void converted(Class<? extends AbstractArgs> type, String option, long nanos, boolean succeeded) {
+        // counted by the parse event
+    }
+
+    @Override
+    public void parsed(ParseTrace trace) {
+        final ParseEvent event = (ParseEvent) trace.event;
+        if(event == null){
+            return;
+        }
+        event.end();
+        event.container = trace.type();
+        event.arguments = trace.arguments();
+        event.conversions = trace.conversions();
+        event.failures = trace.failures();
+        event.succeeded = trace.isSucceeded();
+        event.generated = trace.isGenerated();
+        event.total = trace.totalNanos();
+        event.schema = trace.schemaNanos();
+        event.split = trace.splitNanos();
+        event.scan = trace.scanNanos();
+        event.conversion = trace.conversionNanos();
+        event.required = trace.requiredNanos();
+        event.commit();
+    }
+
+    @Name("io.github.somethinginconspicuous.stomp.Parse")
+    @Label("Argument Parse")
+    @Category("Stomp")
+    static final class ParseEvent extends Event {
+        @Label("Container")
+        Class<?> container;
+        @Label("Arguments")
+        int arguments;
+        @Label("Conversions")
+        int conversions;
+        @Label("Failed Conversions")
+        int failures;
+        @Label("Succeeded")
+        boolean succeeded;
+        @Label("Generated Parser")
+        boolean generated;
+        @Label("Total Time")
+        @Timespan
+        long total;
+        @Label("Schema Time")
+        @Timespan
+        long schema;
+        @Label("Split Time")
+        @Timespan
+        long split;
+        @Label("Scan Time")
+        @Timespan
+        long scan;
+        @Label("Conversion Time")
+        @Timespan
+        long conversion;
+        @Label("Required Check Time")
+        @Timespan
+        long required;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+/**
+ * A parser for a single argument container class that was generated at compile time by
+ * the {@code stomp-processor} annotation processor. Generated parsers are named after
+ * their container with {@code $StompParser} added (so the parser of {@code Args} is
+ * {@code Args$StompParser}) and are used by {@link AbstractArgs#parse(String[], int, int)}
+ * in place of reflection whenever one is found.
+ * 
+ * <p>
+ * 
+ * This is not meant to be implemented by hand.
+ * 
+ * @param <T> The argument container class the parser fills
+ */
+public interface GeneratedParser<T extends AbstractArgs> {
+    /**
+     * The suffix added to the binary name of a container class to get the name of its
+     * generated parser.
+     */
+    String SUFFIX = "$StompParser";
+
+    /**
+     * Parse the arguments from {@code start} to {@code end} into {@code target}, with the
+     * same behaviour as {@link AbstractArgs#parse(String[], int, int)}.
+     * 
+     * @param target The container to give the argument values to
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse
+     * @param end The index of the last argument to parse + 1
+     * @param result Where every error in the arguments is reported
+     */
+    void parse(T target, String[] args, int start, int end, ParseResult result);
+}
@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+/**
+ * Finds the {@link GeneratedParser} of argument container classes. The lookup is done
+ * once per class, and classes without a generated parser are remembered as such.
+ */
+final class GeneratedParsers {
+    private static final ClassValue<GeneratedParser<AbstractArgs>> PARSERS = new ClassValue<GeneratedParser<AbstractArgs>>() {
+        @Override
+        protected GeneratedParser<AbstractArgs> computeValue(Class<?> type) {
+            return find(type);
+        }
+    };
+
+    private GeneratedParsers() {
+    }
+
+    /**
+     * Gets the generated parser of the given argument container class.
+     * 
+     * @param type The argument container class
+     * @return The generated parser, or {@code null} if {@code type} has to be parsed
+     * through reflection
+     */
+    static GeneratedParser<AbstractArgs> of(Class<?> type) {
+        return PARSERS.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GeneratedParser<AbstractArgs> find(Class<?> type) {
+        final Class<?> parserClass;
+        try {
+            parserClass = Class.forName(type.getName() + GeneratedParser.SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+
+        if(!GeneratedParser.class.isAssignableFrom(parserClass)){
+            return null;
+        }
+        try {
+            return (GeneratedParser<AbstractArgs>) parserClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // a broken parser is no worse than no parser
+            return null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+
+/**
+ * Creates new instances of an argument container class through a constructor handle that
+ * is resolved once per class.
+ * 
+ * @param <T> The argument container class
+ */
+final class Instantiator<T extends AbstractArgs> {
+    private static final ClassValue<Instantiator<?>> INSTANTIATORS = new ClassValue<Instantiator<?>>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected Instantiator<?> computeValue(Class<?> type) {
+            return new Instantiator(type);
+        }
+    };
+
+    private final Class<T> type;
+    /** The no argument constructor as {@code ()Object}. */
+    private final MethodHandle constructor;
+
+    private Instantiator(Class<T> type) {
+        this.type = type;
+        if(!AbstractArgs.class.isAssignableFrom(type)){
+            throw new IllegalArgumentClassException(format("Class \"%s\" does not extend %s.", type.getName(), AbstractArgs.class.getName()));
+        }
+        if(Modifier.isAbstract(type.getModifiers()) || type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers())){
+            throw new IllegalArgumentClassException(format("Class \"%s\" cannot be instantiated, it is abstract or an inner class.", type.getName()));
+        }
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentClassException(format("Class \"%s\" does not have an accessible constructor without parameters.", type.getName()), e);
+        }
+    }
+
+    /**
+     * Gets the instantiator of the given argument container class.
+     * 
+     * @throws IllegalArgumentClassException if instances of {@code type} cannot be
+     * created through a constructor without parameters
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends AbstractArgs> Instantiator<T> of(Class<T> type) {
+        return (Instantiator<T>) INSTANTIATORS.get(type);
+    }
+
+    /**
+     * Creates a new instance, with the defaults given by its field initializers.
+     */
+    T newInstance() {
+        try {
+            return type.cast((Object) constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentClassException(format("The constructor of \"%s\" threw an exception.", type.getName()), e);
+        }
+    }
+}
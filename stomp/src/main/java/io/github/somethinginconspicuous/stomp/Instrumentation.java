@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.Arrays;
+
+/**
+ * Registers the {@link ParseListener listeners} that are told about every parse. While
+ * no listener is registered, parsing only checks for one once per parse, so
+ * instrumentation can be left in place in production.
+ */
+public final class Instrumentation {
+    private static final ParseListener[] NONE = new ParseListener[0];
+
+    private static volatile ParseListener[] listeners = NONE;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Registers a listener, which is told about every parse from now on.
+     */
+    public static synchronized void addListener(ParseListener listener) {
+        if(listener == null){
+            throw new NullPointerException("listener");
+        }
+        final ParseListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+    /**
+     * Unregisters a listener.
+     * 
+     * @return If the listener was registered
+     */
+    public static synchronized boolean removeListener(ParseListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if(listeners[i] == listener){
+                final ParseListener[] removed = new ParseListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+                listeners = removed;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers a listener that records every parse as a JDK Flight Recorder event,
+     * named {@code io.github.somethinginconspicuous.stomp.Parse}. The events are only
+     * recorded while a recording that enables them is running.
+     * 
+     * @return If the listener was registered, which needs a JDK with Flight Recorder
+     */
+    public static boolean enableFlightRecorder() {
+        final ParseListener listener;
+        try {
+            // only loaded when Flight Recorder is there to be used
+            Class.forName("jdk.jfr.Event");
+            listener = (ParseListener) Class.forName(Instrumentation.class.getPackage().getName() + ".FlightRecorderListener")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+        addListener(listener);
+        return true;
+    }
+
+    /**
+     * @return The registered listeners, which must not be changed
+     */
+    static ParseListener[] listeners() {
+        return listeners;
+    }
+}
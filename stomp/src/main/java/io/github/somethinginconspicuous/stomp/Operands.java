@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.Arrays;
+
+/**
+ * The operands of one parse that are left after the {@link Positional} fields with a
+ * position. While they are next to each other in the argument vector they are only a
+ * range of it, and they are copied out once they are not.
+ */
+final class Operands {
+    /** The number of operands so far, including the ones given to positioned fields. */
+    int count;
+    private String[] args;
+    private int start;
+    private int size;
+    /** If the operands have been copied into {@link #args}. */
+    private boolean copied;
+
+    /**
+     * Adds an operand that no positioned field takes.
+     * 
+     * @param source The argument vector the operand is at {@code index} of, or
+     * {@code null} if it is not in one, so it must be copied
+     */
+    void add(String[] source, int index, String operand) {
+        if(size == 0 && source != null){
+            args = source;
+            start = index;
+            size = 1;
+            return;
+        }
+        if(!copied && source == args && index == start + size){
+            size++;
+            return;
+        }
+
+        if(!copied){
+            final String[] first = new String[Math.max(8, size * 2)];
+            if(size > 0){
+                System.arraycopy(args, start, first, 0, size);
+            }
+            args = first;
+            start = 0;
+            copied = true;
+        } else if(size == args.length){
+            args = Arrays.copyOf(args, size * 2);
+        }
+        args[size++] = operand;
+    }
+
+    /**
+     * @return If any operand was added
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return A read only view of the added operands
+     */
+    ArgList view() {
+        return new ArgList(args, start, start + size);
+    }
+}
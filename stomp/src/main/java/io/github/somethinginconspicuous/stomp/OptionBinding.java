@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The resolved form of a single {@link Arg} field. Everything the parser needs to
+ * know about the field (its option names, type and whether it is required) is read
+ * from the annotation once, when the {@link ArgSchema} of the container class is built.
+ */
+final class OptionBinding {
+    /** The position of this binding within {@link ArgSchema#bindings}. */
+    final int index;
+    final Field field;
+    final Class<?> type;
+    /** The full option, including the leading "--", or {@code <field>} for a {@link Positional} field. */
+    final String longName;
+    /** The full short option, including the leading "-", or {@code null} if there is none. */
+    final String shortName;
+    /**
+     * The long option without its leading "--", which is its key in a defaults file, or
+     * {@code null} for a {@link Positional} field.
+     */
+    final String key;
+    final boolean required;
+    /** The environment variable of the option, or {@code null} if there is none. */
+    final String env;
+    /**
+     * If only the first occurrence of the option is used. This is the case for every
+     * built in type, while objects built from a string take the last occurrence.
+     */
+    final boolean firstOnly;
+    /** If the field takes operands instead of an option, for a {@link Positional} field. */
+    final boolean positional;
+    /** The position of the operand of a {@link Positional} field, or -1 if it has none. */
+    final int position;
+    /** If the field takes the arguments after {@code --}. */
+    final boolean passthrough;
+    /** If the option counts how many times it is given, for a {@link Count} field. */
+    final boolean count;
+    /** The letters of a {@link Flags} field, or {@code null} if the field is not one. */
+    final String flags;
+    /** If the option is followed by a value, which is everything but booleans and counts. */
+    final boolean takesValue;
+    /** The writer of the field, or {@code null} if the field cannot be written. */
+    final FieldWriter writer;
+    /**
+     * The type of the values of an array, {@code List} or {@code Set} field, which takes
+     * every occurrence of its option, or {@code null} if the field holds a single value.
+     */
+    final Class<?> elementType;
+    /**
+     * The type of the value of an {@link ArgValue} field, which is converted when it is
+     * first read, or {@code null} if the field is not one.
+     */
+    final Class<?> lazyType;
+    /** What splits each value of an array or collection option, or {@code null} if they are not split. */
+    final String separator;
+    /**
+     * The converter objects, or the elements of an array or collection, are built with,
+     * or {@code null} if they are of a built in type or have none.
+     */
+    final Converter<?> converter;
+    /** If values can be converted to the type of the field. */
+    final boolean convertible;
+
+    OptionBinding(int index, Field field, Arg arga, FieldWriter writer) {
+        this(index, field, getLongNameFrom(field, arga), getShortNameFrom(arga), arga.required(),
+                arga.env().isEmpty() ? null : arga.env(), arga.separator(), null, writer);
+    }
+
+    /**
+     * Creates the binding of a {@link Positional} field, which has no option.
+     */
+    OptionBinding(int index, Field field, Positional positional, FieldWriter writer) {
+        this(index, field, "<" + field.getName() + ">", null, positional.required(), null, "", positional, writer);
+    }
+
+    private OptionBinding(int index, Field field, String longName, String shortName, boolean required,
+            String env, String separator, Positional positional, FieldWriter writer) {
+        this.index = index;
+        this.field = field;
+        this.type = field.getType();
+        this.longName = longName;
+        this.shortName = shortName;
+        this.key = positional == null ? longName.substring(2) : null;
+        this.required = required;
+        this.env = env;
+        this.writer = writer;
+        this.positional = positional != null;
+        this.passthrough = positional != null && positional.passthrough();
+        this.position = positional == null || passthrough ? -1 : positional.value();
+        this.count = positional == null && field.isAnnotationPresent(Count.class);
+        final Flags flags = positional != null ? null : field.getAnnotation(Flags.class);
+        this.flags = flags == null ? null : flags.value();
+        this.takesValue = !count && type != boolean.class && type != Boolean.class;
+        // counts and flags add up every occurrence
+        this.firstOnly = !count && this.flags == null
+                && (type.isPrimitive() || type == String.class || type == Integer.class
+                || type == Float.class || type == Long.class || type == Double.class
+                || type == Byte.class || type == Short.class || type == Character.class
+                || type == Boolean.class);
+        this.elementType = count || this.flags != null ? null : elementTypeOf(field);
+        this.lazyType = type == ArgValue.class ? typeArgument(field) : null;
+        this.separator = elementType == null || separator.isEmpty() ? null : separator;
+        if(this.positional && position < 0){
+            // the rest of the operands, or the arguments after "--", as a view
+            this.converter = null;
+            this.convertible = type == List.class && elementType == String.class;
+        } else if(this.positional && elementType != null){
+            this.converter = null;
+            this.convertible = false;
+        } else if(count){
+            this.converter = null;
+            this.convertible = type == int.class || type == long.class || type == Integer.class || type == Long.class;
+        } else if(this.flags != null){
+            this.converter = null;
+            this.convertible = type == EnumSet.class ? flagEnum().isEnum() && flagEnum().getEnumConstants().length >= this.flags.length()
+                    : (type == long.class || type == Long.class) && this.flags.length() <= 64;
+        } else if(lazyType != null){
+            this.converter = lazyType == String.class ? null : Converters.bind(lazyType);
+            this.convertible = converter != null || lazyType == String.class;
+        } else if(elementType != null){
+            this.converter = elementType == String.class || elementType.isPrimitive() ? null : Converters.bind(elementType);
+            this.convertible = converter != null || elementType == String.class || elementType.isPrimitive();
+        } else {
+            this.converter = firstOnly ? null : Converters.bind(type);
+            this.convertible = firstOnly || converter != null;
+        }
+    }
+
+    /**
+     * @return The type of the values of an array, {@code List} or {@code Set} field, or
+     * {@code null} if the field is not one. The only primitive arrays are {@code int[]},
+     * {@code long[]} and {@code double[]}
+     */
+    private static Class<?> elementTypeOf(Field field) {
+        final Class<?> type = field.getType();
+        if(type.isArray()){
+            final Class<?> component = type.getComponentType();
+            if(component.isPrimitive()){
+                return component == int.class || component == long.class || component == double.class ? component : null;
+            }
+            return component;
+        }
+        if(type == List.class || type == Set.class){
+            return typeArgument(field);
+        }
+        return null;
+    }
+
+    /**
+     * @return The enum of an {@code EnumSet} {@link Flags} field
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Class<? extends Enum> flagEnum() {
+        return (Class<? extends Enum>) typeArgument(field);
+    }
+
+    /**
+     * @return The class of the type argument of a generic field, such as {@code Path}
+     * for {@code List<Path>}. Raw types and type variables are taken to hold strings
+     */
+    private static Class<?> typeArgument(Field field) {
+        Type argument = field.getGenericType() instanceof ParameterizedType
+                ? ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0] : String.class;
+        if(argument instanceof WildcardType){
+            argument = ((WildcardType) argument).getUpperBounds()[0];
+        }
+        if(argument instanceof ParameterizedType){
+            argument = ((ParameterizedType) argument).getRawType();
+        }
+        return argument instanceof Class && argument != Object.class ? (Class<?>) argument : String.class;
+    }
+
+    private static String getShortNameFrom(Arg arga) {
+        String shortName = arga.shortName();
+        if(shortName != null && !shortName.equals("")){
+            shortName = "-" + shortName;
+        } else {
+            shortName = null; // no defualt for short version
+        }
+        return shortName;
+    }
+
+    private static String getLongNameFrom(Field field, Arg arga) {
+        String longName = arga.longName();
+        if(longName == null || longName.equals("")){
+            longName = field.getName(); // Default to field name
+        }
+        longName = "--" + longName;
+        return longName;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.Map;
+
+/**
+ * An open addressing hash table from option names to their bindings. Options can be
+ * looked up from a {@code String} or from a range of a {@code char[]}, so arguments read
+ * from a file can be matched without first being copied into strings.
+ */
+final class OptionIndex {
+    private final String[] keys;
+    private final OptionBinding[] values;
+    private final int mask;
+
+    OptionIndex(Map<String, OptionBinding> options) {
+        int capacity = 2;
+        while (capacity < options.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new String[capacity];
+        this.values = new OptionBinding[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<String, OptionBinding> entry : options.entrySet()) {
+            int slot = spread(entry.getKey().hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * @return The binding of {@code option}, or {@code null} if there is none
+     */
+    OptionBinding get(String option) {
+        for (int slot = spread(option.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            final String key = keys[slot];
+            if(key == null){
+                return null;
+            }
+            if(key.equals(option)){
+                return values[slot];
+            }
+        }
+    }
+
+    /**
+     * @return The binding of the option in {@code chars} from {@code start} to
+     * {@code end}, or {@code null} if there is none
+     */
+    OptionBinding get(char[] chars, int start, int end) {
+        // the same hash as String.hashCode()
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        final int length = end - start;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            final String key = keys[slot];
+            if(key == null){
+                return null;
+            }
+            if(key.length() == length && matches(key, chars, start)){
+                return values[slot];
+            }
+        }
+    }
+
+    private static boolean matches(String key, char[] chars, int start) {
+        for (int i = 0; i < key.length(); i++) {
+            if(key.charAt(i) != chars[start + i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
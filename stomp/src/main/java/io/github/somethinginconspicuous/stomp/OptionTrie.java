@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A trie of the option names of a container, stored in flat arrays. It finds the only
+ * option that starts with a prefix, and the options closest to a misspelt one by
+ * edit distance. It is only searched when an option is not found in the
+ * {@link OptionIndex}, so it adds nothing to arguments that are spelt right.
+ * 
+ * @see Abbreviations
+ */
+final class OptionTrie {
+    /** The character leading into each node; node 0 is the root. */
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    /** The name that ends at each node, or {@code null}. */
+    private final String[] names;
+    /**
+     * The only binding with a name at or below each node, or {@code null} if there is
+     * more than one. Every leaf is a name, so there is never none.
+     */
+    private final OptionBinding[] only;
+
+    OptionTrie(Map<String, OptionBinding> options) {
+        Builder root = new Builder();
+        for (Map.Entry<String, OptionBinding> entry : options.entrySet()) {
+            Builder node = root;
+            for (int i = 0; i < entry.getKey().length(); i++) {
+                char c = entry.getKey().charAt(i);
+                Builder child = node.children.get(c);
+                if(child == null){
+                    child = new Builder();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.name = entry.getKey();
+            node.binding = entry.getValue();
+        }
+
+        int size = root.count();
+        this.labels = new char[size];
+        this.firstChild = new int[size];
+        this.nextSibling = new int[size];
+        this.names = new String[size];
+        this.only = new OptionBinding[size];
+        nextSibling[0] = -1;
+        flatten(root, 0, 1);
+    }
+
+    /**
+     * Lays out the children of {@code node} next to each other, depth first.
+     * 
+     * @return The next free node
+     */
+    private int flatten(Builder node, int index, int free) {
+        names[index] = node.name;
+        only[index] = node.binding;
+        firstChild[index] = -1;
+        if(node.children.isEmpty()){
+            return free;
+        }
+
+        int first = free;
+        free += node.children.size();
+        firstChild[index] = first;
+        int child = first;
+        OptionBinding below = node.binding;
+        boolean ambiguous = false;
+        for (Map.Entry<Character, Builder> entry : node.children.entrySet()) {
+            labels[child] = entry.getKey();
+            nextSibling[child] = child + 1 < first + node.children.size() ? child + 1 : -1;
+            free = flatten(entry.getValue(), child, free);
+            if(only[child] == null || (below != null && below != only[child])){
+                ambiguous = true;
+            }
+            below = only[child];
+            child++;
+        }
+        only[index] = ambiguous ? null : below;
+        return free;
+    }
+
+    /**
+     * @return The node reached by {@code prefix}, or -1 if no name starts with it
+     */
+    private int find(String prefix) {
+        int node = 0;
+        for (int i = 0; i < prefix.length() && node >= 0; i++) {
+            final char c = prefix.charAt(i);
+            node = firstChild[node];
+            while (node >= 0 && labels[node] != c) {
+                node = nextSibling[node];
+            }
+        }
+        return node;
+    }
+
+    /**
+     * @return The only binding with a name starting with {@code prefix}, or {@code null}
+     * if there is none or more than one
+     */
+    OptionBinding complete(String prefix) {
+        final int node = find(prefix);
+        return node < 0 ? null : only[node];
+    }
+
+    /**
+     * @return Up to {@code limit} of the names that start with {@code prefix}, in order
+     */
+    List<String> completions(String prefix, int limit) {
+        List<String> found = new ArrayList<>();
+        final int node = find(prefix);
+        if(node >= 0){
+            collect(node, found, limit);
+        }
+        return found;
+    }
+
+    private void collect(int node, List<String> found, int limit) {
+        if(names[node] != null && found.size() < limit){
+            found.add(names[node]);
+        }
+        for (int child = firstChild[node]; child >= 0 && found.size() < limit; child = nextSibling[child]) {
+            collect(child, found, limit);
+        }
+    }
+
+    /**
+     * Finds the names closest to {@code word}, by walking the trie with one row of the
+     * Levenshtein table per node and leaving any branch whose whole row is further than
+     * {@code maxDistance}.
+     * 
+     * @return Up to {@code limit} names at most {@code maxDistance} edits from {@code word},
+     * closest first
+     */
+    List<String> closest(String word, int maxDistance, int limit) {
+        List<List<String>> byDistance = new ArrayList<>(maxDistance + 1);
+        for (int d = 0; d <= maxDistance; d++) {
+            byDistance.add(new ArrayList<String>());
+        }
+
+        int[] row = new int[word.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+            closest(child, word, row, maxDistance, byDistance);
+        }
+
+        List<String> found = new ArrayList<>(limit);
+        for (List<String> names : byDistance) {
+            for (String name : names) {
+                if(found.size() == limit){
+                    return found;
+                }
+                found.add(name);
+            }
+        }
+        return found;
+    }
+
+    private void closest(int node, String word, int[] previous, int maxDistance, List<List<String>> byDistance) {
+        final int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int best = row[0];
+        for (int i = 1; i < row.length; i++) {
+            final int replace = previous[i - 1] + (word.charAt(i - 1) == labels[node] ? 0 : 1);
+            row[i] = Math.min(replace, Math.min(row[i - 1], previous[i]) + 1);
+            best = Math.min(best, row[i]);
+        }
+
+        final int distance = row[row.length - 1];
+        if(names[node] != null && distance <= maxDistance){
+            byDistance.get(distance).add(names[node]);
+        }
+        if(best <= maxDistance){
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                closest(child, word, row, maxDistance, byDistance);
+            }
+        }
+    }
+
+    /**
+     * A node of the trie while it is being built.
+     */
+    private static final class Builder {
+        final Map<Character, Builder> children = new TreeMap<>();
+        String name;
+        OptionBinding binding;
+
+        int count() {
+            int count = 1;
+            for (Builder child : children.values()) {
+                count += child.count();
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.File;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * A bounded cache of parsed containers, for programs that parse the same few argument
+ * vectors over and over. Each argument vector that parses without errors is kept as a
+ * template, and parsing it again copies the fields of the template into a new container
+ * instead of parsing it. The least recently used template is evicted once the cache is
+ * full.
+ * 
+ * <pre>{@code
+ * private static final ParseCache<Args> CACHE = new ParseCache<>(Args.class, 512);
+ * 
+ * Args args = CACHE.parse(argv);
+ * }</pre>
+ * 
+ * Only containers whose fields always parse to the same immutable values are cached,
+ * meaning strings, primitives, wrappers, enums and immutable JDK types such as
+ * {@code Path}, {@code BigDecimal}, {@code UUID} and the {@code java.time} types. Containers
+ * with lazy, array, collection or {@link Flags EnumSet} fields, fields converted by a
+ * {@link Converters#register(Class, Converter) registered} or {@link ConverterProvider provided}
+ * converter, static fields or {@link ArgFiles argument files} are always parsed, and
+ * {@link #isCaching()} is {@code false} for them. A hit does not notify the
+ * {@link Instrumentation} listeners.
+ * 
+ * <p>
+ * 
+ * A cache can be used by many threads at once.
+ * 
+ * @param <T> The argument container class
+ */
+public final class ParseCache<T extends AbstractArgs> {
+    private final Parser<T> parser;
+    /** The reason the container is not cached, or {@code null} if it is. */
+    private final String uncached;
+    private final Defaults copier;
+    private final int maximumSize;
+    /** The templates, in the order they were last used. Guarded by itself. */
+    private final LinkedHashMap<Key, T> templates;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates an empty cache.
+     * 
+     * @param type The argument container class
+     * @param maximumSize The most argument vectors that are kept
+     * @throws IllegalArgumentClassException if {@code type} has no constructor without
+     * parameters
+     */
+    public ParseCache(Class<T> type, int maximumSize) {
+        if(maximumSize < 1){
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.parser = Parser.of(type);
+        this.uncached = uncached(ArgSchema.of(type));
+        this.copier = uncached == null ? Defaults.of(type) : null;
+        this.maximumSize = maximumSize;
+        this.templates = new LinkedHashMap<Key, T>(Math.min(maximumSize, 1024) * 4 / 3 + 1, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, T> eldest) {
+                if(size() > ParseCache.this.maximumSize){
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Parses an argument vector into a new container, copying it from the cache if the
+     * same arguments were parsed before.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see Parser#parse(String[])
+     */
+    public T parse(String[] args) {
+        return parse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new container, copying it from the cache
+     * if the same arguments were parsed before.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see Parser#parse(String[], int, int)
+     */
+    public T parse(String[] args, int start, int end) {
+        if(uncached != null){
+            return parser.parse(args, start, end);
+        }
+        final Key key = new Key(args, start, end);
+        final T hit = copy(key);
+        if(hit != null){
+            return hit;
+        }
+
+        // only reached if the arguments have no errors
+        final T parsed = parser.parse(args, start, end);
+        store(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Parses an argument vector into a new container, collecting every error instead of
+     * throwing the first one. Arguments with errors are not cached.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new container and the errors found in the arguments
+     * @see Parser#tryParse(String[])
+     */
+    public Parsed<T> tryParse(String[] args) {
+        return tryParse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new container, collecting every error
+     * instead of throwing the first one. Arguments with errors are not cached.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new container and the errors found in the arguments
+     * @see Parser#tryParse(String[], int, int)
+     */
+    public Parsed<T> tryParse(String[] args, int start, int end) {
+        if(uncached != null){
+            return parser.tryParse(args, start, end);
+        }
+        final Key key = new Key(args, start, end);
+        final T hit = copy(key);
+        if(hit != null){
+            return new Parsed<>(hit, ParseResult.collecting(parser.type()));
+        }
+
+        final Parsed<T> parsed = parser.tryParse(args, start, end);
+        if(parsed.result().isSuccess()){
+            store(key, parsed.args());
+        }
+        return parsed;
+    }
+
+    /**
+     * @return A new container copied from the template of {@code key}, or {@code null}
+     * if there is none
+     */
+    private T copy(Key key) {
+        final T template;
+        synchronized (templates) {
+            template = templates.get(key);
+            if(template == null){
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        final T instance = parser.newInstance();
+        copier.copy(instance, template);
+        return instance;
+    }
+
+    /**
+     * Keeps a copy of {@code parsed}, which is given to the caller, as the template of
+     * {@code key}.
+     */
+    private void store(Key key, T parsed) {
+        final T template = parser.newInstance();
+        copier.copy(template, parsed);
+        final Key stored = key.detach();
+        synchronized (templates) {
+            templates.put(stored, template);
+        }
+    }
+
+    /**
+     * @return If the containers are cached, which is {@code false} if they are always
+     * parsed
+     */
+    public boolean isCaching() {
+        return uncached == null;
+    }
+
+    /**
+     * @return The number of parses that were copied from the cache
+     */
+    public long hits() {
+        synchronized (templates) {
+            return hits;
+        }
+    }
+
+    /**
+     * @return The number of parses that were not in the cache, not counting the
+     * parses of containers that are never cached
+     */
+    public long misses() {
+        synchronized (templates) {
+            return misses;
+        }
+    }
+
+    /**
+     * @return The number of argument vectors that were evicted to make room for others
+     */
+    public long evictions() {
+        synchronized (templates) {
+            return evictions;
+        }
+    }
+
+    /**
+     * @return The number of argument vectors in the cache
+     */
+    public int size() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Removes every argument vector from the cache. The statistics are kept.
+     */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (templates) {
+            return "ParseCache[" + parser.type().getName() + (uncached != null ? ", not cached because " + uncached
+                    : ", size=" + templates.size() + "/" + maximumSize + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions) + "]";
+        }
+    }
+
+    /**
+     * @return Why the containers of {@code schema} cannot be cached, or {@code null} if
+     * they can
+     */
+    private static String uncached(ArgSchema schema) {
+        if(schema.argFiles){
+            return "it reads argument files";
+        }
+        for (OptionBinding binding : schema.bindings) {
+            if(binding.writer == null){
+                continue; // never written
+            }
+            if(Modifier.isStatic(binding.field.getModifiers())){
+                return "field \"" + binding.field.getName() + "\" is static";
+            }
+            if(binding.converter != null && !Converters.isBuiltIn(binding.converter)){
+                return "field \"" + binding.field.getName() + "\" has a converter that is not built in";
+            }
+            if(!immutable(binding.type)){
+                return "field \"" + binding.field.getName() + "\" may not parse to the same immutable value every time";
+            }
+        }
+        return null;
+    }
+
+    private static boolean immutable(Class<?> type) {
+        return type.isPrimitive() || type == String.class || type == Integer.class
+                || type == Float.class || type == Long.class || type == Double.class
+                || type == Byte.class || type == Short.class || type == Character.class
+                || type == Boolean.class || type.isEnum()
+                || type == Path.class || type == File.class || type == URI.class || type == UUID.class
+                || type == BigInteger.class || type == BigDecimal.class || type == Charset.class
+                || type == java.util.regex.Pattern.class
+                || (type.getName().startsWith("java.time.") && Modifier.isFinal(type.getModifiers()));
+    }
+
+    /**
+     * A range of an argument vector, hashed once by rolling the hashes of its arguments.
+     */
+    private static final class Key {
+        private final String[] args;
+        private final int start;
+        private final int end;
+        private final int hash;
+
+        Key(String[] args, int start, int end) {
+            this(args, start, end, hash(args, start, end));
+        }
+
+        private Key(String[] args, int start, int end, int hash) {
+            this.args = args;
+            this.start = start;
+            this.end = end;
+            this.hash = hash;
+        }
+
+        private static int hash(String[] args, int start, int end) {
+            int hash = end - start;
+            for (int i = start; i < end; i++) {
+                // strings cache their own hash
+                hash = 31 * hash + args[i].hashCode();
+            }
+            return hash;
+        }
+
+        /**
+         * @return A key that does not share the argument vector of the caller, which may
+         * change it after the parse
+         */
+        Key detach() {
+            return new Key(Arrays.copyOfRange(args, start, end), 0, end - start, hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if(!(obj instanceof Key)){
+                return false;
+            }
+            final Key other = (Key) obj;
+            if(other.hash != hash || other.end - other.start != end - start){
+                return false;
+            }
+            for (int i = 0; i < end - start; i++) {
+                if(!args[start + i].equals(other.args[other.start + i])){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
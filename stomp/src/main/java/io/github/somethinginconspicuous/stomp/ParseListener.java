@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+/**
+ * Told about every parse while it is {@link Instrumentation#addListener(ParseListener)
+ * registered}. Listeners are called on the thread that parses, so they should be quick
+ * and thread safe.
+ * 
+ * @see ParseStatistics
+ */
+public interface ParseListener {
+    /**
+     * Called after the value of an option has been converted and written, or has failed
+     * to be. Parses by a {@link GeneratedParser} do not report single options.
+     * 
+     * @param type The argument container class
+     * @param option The long option that was given
+     * @param nanos How long the conversion took, in nanoseconds
+     * @param succeeded If the field was given the value
+     */
+    void converted(Class<? extends AbstractArgs> type, String option, long nanos, boolean succeeded);
+
+    /**
+     * Called after a parse has finished, including when it has thrown.
+     * 
+     * @param trace How long each phase of the parse took
+     */
+    void parsed(ParseTrace trace);
+}
@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * The outcome of parsing arguments with {@link AbstractArgs#tryParse(String[], int, int)}.
+ * Every error in the given arguments is collected here instead of being thrown, so a
+ * single parse reports all of them.
+ * 
+ * <p>
+ * 
+ * The warnings about the container class itself are found once, when the class is first
+ * parsed, and every result of that class shares them.
+ */
+public final class ParseResult {
+    /** A result that throws the first error reported to it, used by {@link AbstractArgs#parse(String[], int, int)}. */
+    static final ParseResult THROWING = new ParseResult(Collections.<Diagnostic>emptyList(), true);
+
+    /** The warnings of the class, which are copied before a parse adds its own. */
+    private List<Diagnostic> warnings;
+    private boolean sharedWarnings = true;
+    private final boolean throwing;
+    private List<Diagnostic> errors;
+
+    ParseResult(List<Diagnostic> warnings) {
+        this(warnings, false);
+    }
+
+    /**
+     * Creates a result that collects the errors of a parse of the given class.
+     */
+    static ParseResult collecting(Class<?> type) {
+        return new ParseResult(GeneratedParsers.of(type) != null
+                ? Collections.<Diagnostic>emptyList() // reported when the parser was generated
+                : ArgSchema.of(type).warnings);
+    }
+
+    private ParseResult(List<Diagnostic> warnings, boolean throwing) {
+        this.warnings = warnings;
+        this.throwing = throwing;
+    }
+
+    /**
+     * Reports a problem found while parsing. This is used by the parsers, including
+     * {@link GeneratedParser generated ones}. Warnings are added to the
+     * {@link #warnings()}, or written to {@code System.err} by a parse that throws.
+     * 
+     * @param diagnostic The problem
+     * @throws IllegalCommandArgumentException if the problem is an error, and this result
+     * belongs to a parse that throws the first error it finds
+     */
+    public void report(Diagnostic diagnostic) {
+        if(diagnostic.severity() == Diagnostic.Severity.WARNING){
+            if(throwing){
+                System.err.println(diagnostic);
+                return;
+            }
+            if(sharedWarnings){
+                warnings = new ArrayList<>(warnings);
+                sharedWarnings = false;
+            }
+            warnings.add(diagnostic);
+            return;
+        }
+        if(throwing){
+            throw (IllegalCommandArgumentException) diagnostic.toException();
+        }
+        if(errors == null){
+            errors = new ArrayList<>(2);
+        }
+        errors.add(diagnostic);
+    }
+
+    /**
+     * @return If no errors were found in the arguments
+     */
+    public boolean isSuccess() {
+        return errors == null;
+    }
+
+    /**
+     * @return The errors found in the arguments, in the order they were found
+     */
+    public List<Diagnostic> errors() {
+        return errors == null ? Collections.<Diagnostic>emptyList() : Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return The warnings about the container class, and any found while parsing
+     */
+    public List<Diagnostic> warnings() {
+        return sharedWarnings ? warnings : Collections.unmodifiableList(warnings);
+    }
+
+    /**
+     * Throws the first error found in the arguments, with the rest of them added as
+     * suppressed exceptions. Does nothing if the parse succeeded.
+     * 
+     * @throws IllegalCommandArgumentException if any errors were found
+     */
+    public void throwIfFailed() {
+        if(errors == null){
+            return;
+        }
+        IllegalCommandArgumentException e = (IllegalCommandArgumentException) errors.get(0).toException();
+        for (int i = 1; i < errors.size(); i++) {
+            e.addSuppressed(errors.get(i).toException());
+        }
+        throw e;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult" + errors();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ParseListener} that counts the parses of every container class, and the
+ * conversions and failed conversions of every option.
+ * 
+ * <pre>{@code
+ * ParseStatistics statistics = new ParseStatistics();
+ * Instrumentation.addListener(statistics);
+ * ...
+ * statistics.failures(Args.class, "--port");
+ * }</pre>
+ */
+public final class ParseStatistics implements ParseListener {
+    private final ConcurrentMap<Class<?>, Counters> parses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ConcurrentMap<String, Counters>> options = new ConcurrentHashMap<>();
+
+    @Override
+    public void converted(Class<? extends AbstractArgs> type, String option, long nanos, boolean succeeded) {
+        ConcurrentMap<String, Counters> counters = options.get(type);
+        if(counters == null){
+            final ConcurrentMap<String, Counters> created = new ConcurrentHashMap<>();
+            counters = options.putIfAbsent(type, created);
+            if(counters == null){
+                counters = created;
+            }
+        }
+        counters(counters, option).add(nanos, succeeded);
+    }
+
+    @Override
+    public void parsed(ParseTrace trace) {
+        counters(parses, trace.type()).add(trace.totalNanos(), trace.isSucceeded());
+    }
+
+    private static <K> Counters counters(ConcurrentMap<K, Counters> map, K key) {
+        Counters counters = map.get(key);
+        if(counters == null){
+            final Counters created = new Counters();
+            counters = map.putIfAbsent(key, created);
+            if(counters == null){
+                counters = created;
+            }
+        }
+        return counters;
+    }
+
+    /**
+     * @return The number of times {@code type} has been parsed
+     */
+    public long parses(Class<? extends AbstractArgs> type) {
+        final Counters counters = parses.get(type);
+        return counters == null ? 0 : counters.count.get();
+    }
+
+    /**
+     * @return The number of parses of {@code type} that found errors
+     */
+    public long failedParses(Class<? extends AbstractArgs> type) {
+        final Counters counters = parses.get(type);
+        return counters == null ? 0 : counters.failures.get();
+    }
+
+    /**
+     * @return The time spent parsing {@code type}, in nanoseconds
+     */
+    public long parseNanos(Class<? extends AbstractArgs> type) {
+        final Counters counters = parses.get(type);
+        return counters == null ? 0 : counters.nanos.get();
+    }
+
+    /**
+     * @param option The long option, including the leading "--"
+     * @return The number of values given to {@code option} of {@code type}
+     */
+    public long conversions(Class<? extends AbstractArgs> type, String option) {
+        final Counters counters = option(type, option);
+        return counters == null ? 0 : counters.count.get();
+    }
+
+    /**
+     * @param option The long option, including the leading "--"
+     * @return The number of values given to {@code option} of {@code type} that could
+     * not be converted
+     */
+    public long failures(Class<? extends AbstractArgs> type, String option) {
+        final Counters counters = option(type, option);
+        return counters == null ? 0 : counters.failures.get();
+    }
+
+    /**
+     * @param option The long option, including the leading "--"
+     * @return The time spent converting values of {@code option} of {@code type}, in nanoseconds
+     */
+    public long conversionNanos(Class<? extends AbstractArgs> type, String option) {
+        final Counters counters = option(type, option);
+        return counters == null ? 0 : counters.nanos.get();
+    }
+
+    private Counters option(Class<?> type, String option) {
+        final Map<String, Counters> counters = options.get(type);
+        return counters == null ? null : counters.get(option);
+    }
+
+    /**
+     * Forgets every count.
+     */
+    public void clear() {
+        parses.clear();
+        options.clear();
+    }
+
+    private static final class Counters {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+        final AtomicLong nanos = new AtomicLong();
+
+        void add(long nanos, boolean succeeded) {
+            count.incrementAndGet();
+            this.nanos.addAndGet(nanos);
+            if(!succeeded){
+                failures.incrementAndGet();
+            }
+        }
+    }
+}
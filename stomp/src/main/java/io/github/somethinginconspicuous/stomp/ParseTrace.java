@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+/**
+ * How long each phase of one parse took. A trace is only made while a
+ * {@link ParseListener} is registered, and is handed to the listeners when the parse
+ * ends.
+ * 
+ * <p>
+ * 
+ * The phases are, in the order they run, finding the schema of the class (which
+ * includes building it the first time), splitting a command line into arguments or
+ * expanding {@link ArgFiles argument files}, scanning the arguments, converting their
+ * values, and checking the required options and {@link Range constraints}. The scan time
+ * does not include the conversions made during it.
+ */
+public final class ParseTrace {
+    private final Class<? extends AbstractArgs> type;
+    private final ParseListener[] listeners;
+    private int arguments;
+    private final long started;
+
+    private long schemaNanos;
+    private long splitNanos;
+    private long scanNanos;
+    private long conversionNanos;
+    private long requiredNanos;
+    private long totalNanos;
+    private int conversions;
+    private int failures;
+    private boolean generated;
+    private boolean succeeded;
+
+    /** When the phase being timed started. */
+    private long phase;
+    /** The Flight Recorder event of this parse, begun when the parse started, or {@code null}. */
+    Object event;
+
+    ParseTrace(Class<? extends AbstractArgs> type, ParseListener[] listeners, int arguments) {
+        this.type = type;
+        this.listeners = listeners;
+        this.arguments = arguments;
+        for (ParseListener listener : listeners) {
+            if(listener instanceof ParseStartListener){
+                ((ParseStartListener) listener).started(this);
+            }
+        }
+        this.started = this.phase = System.nanoTime();
+    }
+
+    void schemaFound() {
+        final long now = System.nanoTime();
+        schemaNanos = now - phase;
+        phase = now;
+    }
+
+    /**
+     * @param arguments The number of arguments the command line was split or expanded into
+     */
+    void split(int arguments) {
+        final long now = System.nanoTime();
+        splitNanos = now - phase;
+        phase = now;
+        this.arguments = arguments;
+    }
+
+    void generated() {
+        generated = true;
+    }
+
+    void scanned() {
+        final long now = System.nanoTime();
+        scanNanos = now - phase - conversionNanos;
+        phase = now;
+    }
+
+    /**
+     * @param started When the conversion started, from {@link System#nanoTime()}
+     */
+    void converted(OptionBinding binding, long started, boolean succeeded) {
+        final long nanos = System.nanoTime() - started;
+        conversionNanos += nanos;
+        conversions++;
+        if(!succeeded){
+            failures++;
+        }
+        for (ParseListener listener : listeners) {
+            listener.converted(type, binding.longName, nanos, succeeded);
+        }
+    }
+
+    void checked() {
+        final long now = System.nanoTime();
+        requiredNanos = now - phase;
+        phase = now;
+    }
+
+    void finished(boolean succeeded) {
+        this.totalNanos = System.nanoTime() - started;
+        this.succeeded = succeeded;
+        for (ParseListener listener : listeners) {
+            listener.parsed(this);
+        }
+    }
+
+    /**
+     * @return The argument container class
+     */
+    public Class<? extends AbstractArgs> type() {
+        return type;
+    }
+
+    /**
+     * @return The number of arguments that were parsed, after splitting a command line or
+     * expanding argument files
+     */
+    public int arguments() {
+        return arguments;
+    }
+
+    /**
+     * @return How long finding the schema took, in nanoseconds
+     */
+    public long schemaNanos() {
+        return schemaNanos;
+    }
+
+    /**
+     * @return How long splitting a command line into arguments, or expanding argument
+     * files, took in nanoseconds, or 0 if the arguments were given as they are
+     */
+    public long splitNanos() {
+        return splitNanos;
+    }
+
+    /**
+     * @return How long scanning the arguments took, not counting conversions, in nanoseconds
+     */
+    public long scanNanos() {
+        return scanNanos;
+    }
+
+    /**
+     * @return How long converting the values took, in nanoseconds
+     */
+    public long conversionNanos() {
+        return conversionNanos;
+    }
+
+    /**
+     * @return How long checking the required options and constraints took, in nanoseconds
+     */
+    public long requiredNanos() {
+        return requiredNanos;
+    }
+
+    /**
+     * @return How long the whole parse took, in nanoseconds
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return The number of values that were converted, or failed to be
+     */
+    public int conversions() {
+        return conversions;
+    }
+
+    /**
+     * @return The number of values that failed to be converted
+     */
+    public int failures() {
+        return failures;
+    }
+
+    /**
+     * @return If the parse was done by a {@link GeneratedParser}, which is only timed as a whole
+     */
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * @return If the parse found no errors
+     */
+    public boolean isSucceeded() {
+        return succeeded;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseTrace[" + type.getName() + ", " + totalNanos + "ns, schema " + schemaNanos + "ns, split " + splitNanos + "ns, scan "
+                + scanNanos + "ns, conversion " + conversionNanos + "ns, required " + requiredNanos + "ns]";
+    }
+}
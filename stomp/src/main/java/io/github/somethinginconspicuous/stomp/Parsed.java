@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+/**
+ * A container that was parsed by a {@link Parser}, or a record parsed by a
+ * {@link RecordParser}, with the errors found in its arguments.
+ * 
+ * @param <T> The argument container or record class
+ */
+public final class Parsed<T> {
+    private final T args;
+    private final ParseResult result;
+
+    Parsed(T args, ParseResult result) {
+        this.args = args;
+        this.result = result;
+    }
+
+    /**
+     * @return The container or record the arguments were parsed into
+     */
+    public T args() {
+        return args;
+    }
+
+    /**
+     * @return The errors found in the arguments
+     */
+    public ParseResult result() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Parsed[" + args + ", " + result + "]";
+    }
+}
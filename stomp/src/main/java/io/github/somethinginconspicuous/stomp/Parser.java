@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.nio.ByteBuffer;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * Parses arguments into new instances of an argument container class. A parser holds no
+ * state that changes after it is created, so one parser can be shared by any number of
+ * threads, including virtual threads, without any locking.
+ * 
+ * <p>
+ * 
+ * Get the parser of a class with {@link Stomp#parser(Class)}.
+ * 
+ * @param <T> The argument container class
+ */
+public final class Parser<T extends AbstractArgs> {
+    private static final ClassValue<Parser<?>> PARSERS = new ClassValue<Parser<?>>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected Parser<?> computeValue(Class<?> type) {
+            return new Parser(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final Instantiator<T> instantiator;
+
+    Parser(Class<T> type) {
+        this.type = type;
+        this.instantiator = Instantiator.of(type);
+
+        // build the schema now, so the first parse is not slower than the rest
+        if(GeneratedParsers.of(type) == null){
+            ArgSchema.of(type);
+        }
+    }
+
+    /**
+     * @return The argument container class this parser creates
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * Creates a new container, with the defaults given by its field initializers.
+     */
+    public T newInstance() {
+        return instantiator.newInstance();
+    }
+
+    /**
+     * Parses an argument vector into a new container.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see AbstractArgs#parse(String[])
+     */
+    public T parse(String[] args) {
+        return parse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new container.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see AbstractArgs#parse(String[], int, int)
+     */
+    public T parse(String[] args, int start, int end) {
+        final T instance = instantiator.newInstance();
+        instance.parse(args, start, end, ParseResult.THROWING);
+        return instance;
+    }
+
+    /**
+     * Parses an argument vector into a new container, giving the options that are not in
+     * the arguments their values from {@code sources}.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments or sources have an error
+     * @see AbstractArgs#parse(String[], ArgSources)
+     */
+    public T parse(String[] args, ArgSources sources) {
+        final T instance = instantiator.newInstance();
+        instance.parse(args, 0, args.length, sources, ParseResult.THROWING);
+        return instance;
+    }
+
+    /**
+     * Parses an argument vector into a new container, collecting every error instead of
+     * throwing the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new container and the errors found in the arguments
+     * @see AbstractArgs#tryParse(String[])
+     */
+    public Parsed<T> tryParse(String[] args) {
+        return tryParse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new container, collecting every error
+     * instead of throwing the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new container and the errors found in the arguments
+     * @see AbstractArgs#tryParse(String[], int, int)
+     */
+    public Parsed<T> tryParse(String[] args, int start, int end) {
+        final T instance = instantiator.newInstance();
+        final ParseResult result = ParseResult.collecting(type);
+        instance.parse(args, start, end, result);
+        return new Parsed<>(instance, result);
+    }
+
+    /**
+     * Parses an argument vector into a new container, in the same way as
+     * {@link #parse(String[], ArgSources)}, but collecting every error instead of throwing
+     * the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @return The new container and the errors found in the arguments and sources
+     * @see AbstractArgs#tryParse(String[], ArgSources)
+     */
+    public Parsed<T> tryParse(String[] args, ArgSources sources) {
+        final T instance = instantiator.newInstance();
+        final ParseResult result = ParseResult.collecting(type);
+        instance.parse(args, 0, args.length, sources, result);
+        return new Parsed<>(instance, result);
+    }
+
+    /**
+     * Parses a whole command line into a new container.
+     * 
+     * @param line The command line, without the name of the program
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see AbstractArgs#parse(CharSequence)
+     */
+    public T parse(CharSequence line) {
+        final T instance = instantiator.newInstance();
+        instance.parse(line);
+        return instance;
+    }
+
+    /**
+     * Parses a whole UTF-8 command line into a new container.
+     * 
+     * @param utf8 The command line, without the name of the program
+     * @return The new container
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     * @see AbstractArgs#parse(ByteBuffer)
+     */
+    public T parse(ByteBuffer utf8) {
+        final T instance = instantiator.newInstance();
+        instance.parse(utf8);
+        return instance;
+    }
+
+    /**
+     * Parses a whole command line into a new container, collecting every error instead
+     * of throwing the first one.
+     * 
+     * @param line The command line, without the name of the program
+     * @return The new container and the errors found in the arguments
+     * @see AbstractArgs#tryParse(CharSequence)
+     */
+    public Parsed<T> tryParse(CharSequence line) {
+        final T instance = instantiator.newInstance();
+        return new Parsed<>(instance, instance.tryParse(line));
+    }
+
+    /**
+     * Parses a whole UTF-8 command line into a new container, collecting every error
+     * instead of throwing the first one.
+     * 
+     * @param utf8 The command line, without the name of the program
+     * @return The new container and the errors found in the arguments
+     * @see AbstractArgs#tryParse(ByteBuffer)
+     */
+    public Parsed<T> tryParse(ByteBuffer utf8) {
+        final T instance = instantiator.newInstance();
+        return new Parsed<>(instance, instance.tryParse(utf8));
+    }
+
+    @Override
+    public String toString() {
+        return "Parser[" + type.getName() + "]";
+    }
+
+    /**
+     * Gets the parser of a class, for {@link Stomp#parser(Class)}.
+     * 
+     * @throws IllegalArgumentClassException if {@code type} has no constructor without
+     * parameters
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends AbstractArgs> Parser<T> of(Class<T> type) {
+        return (Parser<T>) PARSERS.get(type);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives a field the arguments that are not options or their values, instead of an
+ * option. These operands are given to the fields in the order of their {@link #value()},
+ * in the same pass that reads the options, and the rest go to a field without a
+ * position, which is a read only {@code List<String>}:
+ * 
+ * <pre>{@code
+ * @Positional(0)
+ * public Path source;
+ * 
+ * @Positional
+ * public List<String> files;      // every operand after the source
+ * 
+ * @Positional(passthrough = true)
+ * public List<String> childArgs;  // every argument after "--"
+ * }</pre>
+ * 
+ * In a container with positional fields, {@code --} ends the options, and a boolean only
+ * takes the argument after it as its value if it is {@code true} or {@code false}. Lists
+ * are views of the given argument vector wherever the arguments are next to each other,
+ * so they are not copied. Operands that no field takes are errors.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Positional {
+    /** The position of the operand, counting from 0, or -1 for every operand after the positioned ones. */
+    int value() default -1;
+
+    /** If the field takes every argument after {@code --}, which must then be a {@code List<String>}. */
+    boolean passthrough() default false;
+
+    /** If there must be an operand for this field. */
+    boolean required() default false;
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the value of a numeric {@link Arg} field. A value given outside of the range
+ * is reported as an error once the arguments have been read. Floating point values
+ * are compared with the bounds as doubles.
+ * 
+ * <pre>{@code
+ * @Range(min = 1, max = 65535) @Arg public int port;
+ * @Range(minValue = 0.5, maxValue = 2.5) @Arg public double scale;
+ * }</pre>
+ * 
+ * Bounds that are not whole numbers are given as {@link #minValue()} and
+ * {@link #maxValue()}. A value must be within both kinds of bounds.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Range {
+    /** The smallest value allowed. */
+    long min() default Long.MIN_VALUE;
+    /** The largest value allowed. */
+    long max() default Long.MAX_VALUE;
+    /** The smallest value allowed, for bounds that are not whole numbers. */
+    double minValue() default Double.NEGATIVE_INFINITY;
+    /** The largest value allowed, for bounds that are not whole numbers. */
+    double maxValue() default Double.POSITIVE_INFINITY;
+}
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static java.lang.String.format;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+/**
+ * Parses arguments into new instances of a {@code record}, through its canonical
+ * constructor. Every component of the record that is given the {@link Arg} is an option.
+ * 
+ * <pre>{@code
+ * record Server(@Arg(shortName = "p") int port, @Arg String host) {}
+ * 
+ * private static final RecordParser<Server> PARSER = Stomp.recordParser(Server.class);
+ * }</pre>
+ * 
+ * Records are immutable, so a parsed record can be shared by any number of threads
+ * without copying it.
+ * 
+ * <p>
+ * 
+ * The components are parsed into an array by the same scan as {@link AbstractArgs}, so
+ * they can be of any type a container field can be, and {@link ArgFiles}, {@link ArgSources}
+ * and the validation annotations work the same way. The array is then given to the
+ * constructor all at once. Components without the {@link Arg}, and options that are not
+ * given, are {@code null}, zero or {@code false}. Record parses are not seen by
+ * {@link ParseListener}s.
+ * 
+ * <p>
+ * 
+ * Only finding the components of a record needs Java 17. On older runtimes no parser can
+ * be made.
+ * 
+ * @param <R> The record class
+ */
+public final class RecordParser<R> {
+    private static final ClassValue<RecordParser<?>> PARSERS = new ClassValue<RecordParser<?>>() {
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected RecordParser<?> computeValue(Class<?> type) {
+            return new RecordParser(type);
+        }
+    };
+
+    private final Class<R> type;
+    private final ArgSchema schema;
+    /** The canonical constructor, as {@code (Object[])Object}. */
+    private final MethodHandle constructor;
+    /** The values of the components when no options are given. */
+    private final Object[] defaults;
+
+    private RecordParser(Class<R> type) {
+        this.type = type;
+        final Field[] components = Records.components(type);
+        if(components == null){
+            if(!Records.isSupported()){
+                throw new UnsupportedOperationException("Records are only parsed on Java 17 or later");
+            }
+            throw new IllegalArgumentClassException(format("Class \"%s\" is not a record.", type.getName()));
+        }
+
+        final Class<?>[] types = new Class<?>[components.length];
+        this.defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            // the zero value of the component, such as 0 for an int
+            defaults[i] = types[i].isPrimitive() ? Array.get(Array.newInstance(types[i], 1), 0) : null;
+        }
+
+        try {
+            Constructor<R> canonical = type.getDeclaredConstructor(types);
+            canonical.setAccessible(true);
+            this.constructor = MethodHandles.lookup().unreflectConstructor(canonical)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentClassException(format("Record \"%s\" does not have an accessible canonical constructor.", type.getName()), e);
+        }
+        this.schema = ArgSchema.of(type);
+    }
+
+    /**
+     * Gets the parser of a record class, for {@link Stomp#recordParser(Class)}.
+     * 
+     * @throws IllegalArgumentClassException if {@code type} is not a record
+     * @throws UnsupportedOperationException if the runtime is older than Java 17
+     */
+    @SuppressWarnings("unchecked")
+    static <R> RecordParser<R> of(Class<R> type) {
+        return (RecordParser<R>) PARSERS.get(type);
+    }
+
+    /**
+     * @return The record class this parser creates
+     */
+    public Class<R> type() {
+        return type;
+    }
+
+    /**
+     * Parses an argument vector into a new record.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new record
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     */
+    public R parse(String[] args) {
+        return parse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new record.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new record
+     * @throws IllegalCommandArgumentException if the arguments have an error
+     */
+    public R parse(String[] args, int start, int end) {
+        return parse(args, start, end, null, ParseResult.THROWING);
+    }
+
+    /**
+     * Parses an argument vector into a new record, giving the options that are not in
+     * the arguments their values from {@code sources}.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @return The new record
+     * @throws IllegalCommandArgumentException if the arguments or sources have an error
+     */
+    public R parse(String[] args, ArgSources sources) {
+        return parse(args, 0, args.length, sources, ParseResult.THROWING);
+    }
+
+    /**
+     * Parses an argument vector into a new record, collecting every error instead of
+     * throwing the first one. Components whose options have errors keep their zero value.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @return The new record and the errors found in the arguments
+     */
+    public Parsed<R> tryParse(String[] args) {
+        return tryParse(args, 0, args.length);
+    }
+
+    /**
+     * Parses part of an argument vector into a new record, collecting every error
+     * instead of throwing the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param start The index of the first argument to parse (0 to start from the first given)
+     * @param end The index of the last argument to parse + 1 (args.length to end at the last argument)
+     * @return The new record and the errors found in the arguments
+     */
+    public Parsed<R> tryParse(String[] args, int start, int end) {
+        final ParseResult result = ParseResult.collecting(type);
+        return new Parsed<>(parse(args, start, end, null, result), result);
+    }
+
+    /**
+     * Parses an argument vector into a new record, in the same way as
+     * {@link #parse(String[], ArgSources)}, but collecting every error instead of throwing
+     * the first one.
+     * 
+     * @param args The raw given arguments for the program to parse
+     * @param sources The environment and defaults of the options
+     * @return The new record and the errors found in the arguments and sources
+     */
+    public Parsed<R> tryParse(String[] args, ArgSources sources) {
+        final ParseResult result = ParseResult.collecting(type);
+        return new Parsed<>(parse(args, 0, args.length, sources, result), result);
+    }
+
+    private R parse(String[] args, int start, int end, ArgSources sources, ParseResult result) {
+        final Object[] values = defaults.clone();
+        AbstractArgs.parse(schema, values, args, start, end, sources, result, null);
+        try {
+            return type.cast(constructor.invokeExact(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RecordParser[" + type.getName() + "]";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+
+/**
+ * The entry point for parsing without creating the argument container first.
+ * 
+ * <pre>{@code
+ * private static final Parser<Args> PARSER = Stomp.parser(Args.class);
+ * 
+ * Args args = PARSER.parse(argv);
+ * }</pre>
+ */
+public final class Stomp {
+    private Stomp() {
+    }
+
+    /**
+     * Gets the parser of an argument container class. There is one parser per class, and
+     * it can be shared by every thread.
+     * 
+     * @param <T> The argument container class
+     * @param type The argument container class, which needs a constructor without parameters
+     * @return The parser of {@code type}
+     * @throws IllegalArgumentClassException if {@code type} cannot be instantiated through
+     * a constructor without parameters
+     */
+    public static <T extends AbstractArgs> Parser<T> parser(Class<T> type) {
+        return Parser.of(type);
+    }
+
+    /**
+     * Starts warming up every argument container class in the {@code META-INF} indexes
+     * written by {@code stomp-processor}, in parallel on a small pool of daemon threads,
+     * one per processor up to four. Each class is loaded, its parser, schema and converters
+     * are built, and an empty argument vector is parsed into a throwaway instance, so the
+     * first real parse does not pay for any of it. The warm-up parses are not seen by
+     * {@link Instrumentation} listeners. Call this as early as possible when the program starts, but after every
+     * {@link Converters#register(Class, Converter) converter} is registered, since the
+     * converters of a class are found when it is warmed up.
+     * 
+     * @return The report of the warm-up, which is done once every container is ready
+     */
+    public static Future<WarmUp> warmUp() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if(loader == null){
+            loader = Stomp.class.getClassLoader();
+        }
+        return WarmUp.start(loader);
+    }
+
+    /**
+     * Starts warming up every argument container class in the {@code META-INF} indexes
+     * that {@code loader} can see, in parallel on {@code executor}, such as a
+     * {@code ForkJoinPool}. Converters must be registered before this is called.
+     * 
+     * @param loader Where the indexes and containers are loaded from
+     * @param executor Where the containers are warmed up, in parallel
+     * @return The report of the warm-up, which is done once every container is ready
+     * @see #warmUp()
+     */
+    public static Future<WarmUp> warmUp(ClassLoader loader, Executor executor) {
+        return WarmUp.start(loader, executor);
+    }
+
+    /**
+     * Gets the parser of a record class. There is one parser per class, and it can be
+     * shared by every thread.
+     * 
+     * @param <R> The record class
+     * @param type The record class
+     * @return The parser of {@code type}
+     * @throws IllegalArgumentClassException if {@code type} is not a record
+     * @throws UnsupportedOperationException if the runtime is older than Java 17
+     */
+    public static <R> RecordParser<R> recordParser(Class<R> type) {
+        return RecordParser.of(type);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The report of a {@link Stomp#warmUp() warm-up}, which loads every argument container
+ * class listed by {@code stomp-processor} and builds its parser, schema and converters
+ * before the first parse needs them.
+ * 
+ * <pre>{@code
+ * public static void main(String[] args) {
+ *     Future<WarmUp> warmUp = Stomp.warmUp();
+ *     ...
+ *     System.err.println(warmUp.get()); // Warmed up 24 containers in 31.2 ms
+ * }
+ * }</pre>
+ */
+public final class WarmUp {
+    /** The resource that lists the binary name of every container, one per line. */
+    static final String INDEX = "META-INF/stomp/containers";
+    private static final String[] NO_ARGS = new String[0];
+    /** The most threads a warm-up of its own uses, since it is mostly class loading. */
+    private static final int MAX_THREADS = 4;
+
+    private final List<Class<? extends AbstractArgs>> containers;
+    private final Map<String, Throwable> failures;
+    private final long nanos;
+
+    private WarmUp(List<Class<? extends AbstractArgs>> containers, Map<String, Throwable> failures, long nanos) {
+        this.containers = Collections.unmodifiableList(containers);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.nanos = nanos;
+    }
+
+    /**
+     * @return The containers that were warmed up, in the order of the index
+     */
+    public List<Class<? extends AbstractArgs>> containers() {
+        return containers;
+    }
+
+    /**
+     * @return What went wrong with each container, or index, that could not be warmed up
+     */
+    public Map<String, Throwable> failures() {
+        return failures;
+    }
+
+    /**
+     * @return How long the warm-up took, from reading the index until the last container
+     * was ready
+     */
+    public long elapsedNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Warmed up %d containers in %.1f ms%s", containers.size(), nanos / 1e6,
+                failures.isEmpty() ? "" : ", " + failures.size() + " failed: " + failures.keySet());
+    }
+
+    /**
+     * Starts warming up every container listed in the indexes {@code loader} can see, in
+     * parallel on a pool of daemon threads that is shut down once the warm-up is done. The
+     * pool has one thread per processor, up to {@link #MAX_THREADS}.
+     */
+    static Future<WarmUp> start(final ClassLoader loader) {
+        final AtomicInteger threads = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors(), MAX_THREADS), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                final Thread thread = new Thread(task, "stomp-warm-up-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // the index is read, and the report waited for, outside of the pool
+        final FutureTask<WarmUp> warmUp = new FutureTask<>(new Callable<WarmUp>() {
+            @Override
+            public WarmUp call() throws Exception {
+                try {
+                    return start(loader, pool).get();
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        });
+        final Thread thread = new Thread(warmUp, "stomp-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+        return warmUp;
+    }
+
+    /**
+     * Starts warming up every container listed in the indexes {@code loader} can see.
+     */
+    static FutureTask<WarmUp> start(final ClassLoader loader, Executor executor) {
+        final long started = System.nanoTime();
+        final Map<String, Throwable> indexFailures = new LinkedHashMap<>();
+        final String[] names = read(loader, indexFailures);
+        final Class<?>[] warmed = new Class<?>[names.length];
+        final Throwable[] failed = new Throwable[names.length];
+
+        final FutureTask<WarmUp> report = new FutureTask<>(new Callable<WarmUp>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public WarmUp call() {
+                List<Class<? extends AbstractArgs>> containers = new ArrayList<>(names.length);
+                Map<String, Throwable> failures = new LinkedHashMap<>(indexFailures);
+                for (int i = 0; i < names.length; i++) {
+                    if(failed[i] != null){
+                        failures.put(names[i], failed[i]);
+                    } else {
+                        containers.add((Class<? extends AbstractArgs>) warmed[i]);
+                    }
+                }
+                return new WarmUp(containers, failures, System.nanoTime() - started);
+            }
+        });
+        if(names.length == 0){
+            report.run();
+            return report;
+        }
+
+        // the last container to be ready completes the report, so no thread waits
+        final AtomicInteger remaining = new AtomicInteger(names.length);
+        for (int i = 0; i < names.length; i++) {
+            final int index = i;
+            final Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        warmed[index] = warm(Class.forName(names[index], true, loader));
+                    } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+                        failed[index] = e;
+                    } finally {
+                        if(remaining.decrementAndGet() == 0){
+                            report.run();
+                        }
+                    }
+                }
+            };
+            try {
+                executor.execute(task);
+            } catch (RuntimeException e) {
+                task.run(); // rejected, so warmed up here instead
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Builds everything the first parse of {@code type} would.
+     */
+    private static Class<?> warm(Class<?> type) {
+        final Class<? extends AbstractArgs> container = type.asSubclass(AbstractArgs.class);
+        // resolves the constructor and the generated parser, or else the schema and converters
+        final Parser<? extends AbstractArgs> parser = Parser.of(container);
+        // loads and links the classes of the parse itself, without a trace, so listeners
+        // and statistics only see real parses
+        parser.newInstance().parse(NO_ARGS, 0, 0, null, ParseResult.collecting(container), null);
+        return container;
+    }
+
+    /**
+     * @return The names in every index, without repeats
+     */
+    private static String[] read(ClassLoader loader, Map<String, Throwable> failures) {
+        Set<String> names = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> indexes = loader.getResources(INDEX);
+            while (indexes.hasMoreElements()) {
+                final URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        line = line.trim();
+                        if(!line.isEmpty() && !line.startsWith("#")){
+                            names.add(line);
+                        }
+                    }
+                } catch (IOException e) {
+                    failures.put(index.toString(), e);
+                }
+            }
+        } catch (IOException e) {
+            failures.put(INDEX, e);
+        }
+        return names.toArray(new String[names.size()]);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+
+/**
+ * Finds the components of records. This is the Java 17 version, see the Java 7 version
+ * for the rest.
+ */
+final class Records {
+    private Records() {
+    }
+
+    /**
+     * @return If this runtime can parse records
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * @return The fields of the components of {@code type}, in the order of its canonical
+     * constructor, or {@code null} if it is not a record
+     */
+    static Field[] components(Class<?> type) {
+        if(!type.isRecord()){
+            return null;
+        }
+        final RecordComponent[] components = type.getRecordComponents();
+        final Field[] fields = new Field[components.length];
+        for (int i = 0; i < components.length; i++) {
+            try {
+                fields[i] = type.getDeclaredField(components[i].getName());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return fields;
+    }
+}
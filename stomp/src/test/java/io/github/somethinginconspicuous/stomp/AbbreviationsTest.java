@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+public class AbbreviationsTest {
+    @Abbreviations
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg
+        public int count;
+        @Arg
+        public boolean verbose;
+        @Arg
+        public boolean version;
+    }
+
+    private static final OptionTrie TRIE = ArgSchema.of(Args.class).abbreviations;
+
+    @Test
+    public void takesUnambiguousPrefixes() {
+        Args args = new Args();
+        args.parse(new String[] {"--verb", "--na", "x", "--c", "-3"});
+        assertTrue(args.verbose);
+        assertEquals("x", args.name);
+        assertEquals(-3, args.count);
+    }
+
+    @Test
+    public void takesWholeNamesThatArePrefixesOfNothing() {
+        Args args = new Args();
+        args.parse(new String[] {"--version"});
+        assertTrue(args.version);
+    }
+
+    @Test
+    public void reportsAmbiguousPrefixes() {
+        List<Diagnostic> errors = new Args().tryParse(new String[] {"--ver"}).errors();
+        assertEquals(1, errors.size());
+        assertEquals(Code.AMBIGUOUS_OPTION, errors.get(0).code());
+        assertEquals("Option \"--ver\" is ambiguous, it could be \"--verbose\", \"--version\".", errors.get(0).message());
+    }
+
+    @Test
+    public void suggestsTheClosestOptions() {
+        // options shorter than 8 characters are only given suggestions one edit away
+        List<Diagnostic> errors = new Args().tryParse(new String[] {"--nme", "x", "--cont", "1"}).errors();
+        assertEquals(2, errors.size());
+        assertEquals(Code.UNKNOWN_OPTION, errors.get(0).code());
+        assertEquals("Unknown option \"--nme\". Did you mean \"--name\"?", errors.get(0).message());
+        assertEquals("Unknown option \"--cont\". Did you mean \"--count\"?", errors.get(1).message());
+    }
+
+    @Test
+    public void suggestsNothingForOptionsThatAreFarFromAny() {
+        List<Diagnostic> errors = new Args().tryParse(new String[] {"--quiet"}).errors();
+        assertEquals("Unknown option \"--quiet\".", errors.get(0).message());
+    }
+
+    @Test
+    public void completesPrefixes() {
+        assertEquals("--name", TRIE.complete("--n").longName);
+        assertNull(TRIE.complete("--v"));
+        assertNull(TRIE.complete("--x"));
+        assertEquals(Arrays.asList("--verbose", "--version"), TRIE.completions("--ver", 5));
+        assertEquals(Collections.singletonList("--verbose"), TRIE.completions("--ver", 1));
+        assertEquals(Collections.emptyList(), TRIE.completions("--x", 5));
+    }
+
+    @Test
+    public void findsTheClosestNamesFirst() {
+        assertEquals(Arrays.asList("--version", "--verbose"), TRIE.closest("--verion", 3, 3));
+        assertEquals(Collections.singletonList("--version"), TRIE.closest("--verion", 3, 1));
+        assertEquals(Collections.singletonList("--version"), TRIE.closest("--verion", 2, 3));
+        assertEquals(Collections.emptyList(), TRIE.closest("--abcdef", 2, 3));
+    }
+}
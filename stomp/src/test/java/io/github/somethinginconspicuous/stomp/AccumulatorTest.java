@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class AccumulatorTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "I")
+        public String[] include;
+        @Arg(longName = "port", separator = ",")
+        public int[] ports;
+        @Arg
+        public long[] ids = {7};
+        @Arg(separator = ":")
+        public List<Path> paths;
+        @Arg
+        public Set<Integer> nums;
+        @Arg(separator = ", ")
+        public List<String> words;
+        @Arg(separator = ",")
+        public List<Integer> counts;
+    }
+
+    @Test
+    public void collectsRepeatedOptions() {
+        Args args = new Args();
+        args.parse(new String[] {"-I", "a", "-I", "b", "--nums", "3", "--nums", "3", "--nums", "1"});
+        assertArrayEquals(new String[] {"a", "b"}, args.include);
+        assertEquals(new LinkedHashSet<>(Arrays.asList(3, 1)), args.nums);
+    }
+
+    @Test
+    public void splitsOnTheSeparator() {
+        Args args = new Args();
+        args.parse(new String[] {"--port", "1,2,3", "--port", "4", "--paths", "/a:/b"});
+        assertArrayEquals(new int[] {1, 2, 3, 4}, args.ports);
+        assertEquals(Arrays.asList(Paths.get("/a"), Paths.get("/b")), args.paths);
+    }
+
+    @Test
+    public void splitsOnLongerSeparators() {
+        Args args = new Args();
+        args.parse(new String[] {"--words", "a, b,c, ", "--words", ", d"});
+        assertEquals(Arrays.asList("a", "b,c", "", "", "d"), args.words);
+    }
+
+    @Test
+    public void keepsTheDefaultWhenNotGiven() {
+        Args args = new Args();
+        args.parse(new String[0]);
+        assertArrayEquals(new long[] {7}, args.ids);
+        assertNull(args.ports);
+    }
+
+    @Test
+    public void reportsInvalidElements() {
+        ParseResult result = new Args().tryParse(new String[] {"--port", "1,x", "--ids"});
+        assertEquals(2, result.errors().size());
+        assertEquals(Diagnostic.Code.INVALID_VALUE, result.errors().get(0).code());
+        assertEquals(Diagnostic.Code.MISSING_VALUE, result.errors().get(1).code());
+    }
+
+    @Test
+    public void dropsEveryPieceOfAnInvalidValue() {
+        Args args = new Args();
+        ParseResult result = args.tryParse(new String[] {"--port", "1,2", "--port", "3,x,4", "--counts", "5", "--counts", "6,y"});
+        assertEquals(2, result.errors().size());
+        assertArrayEquals(new int[] {1, 2}, args.ports);
+        assertEquals(Arrays.asList(5), args.counts);
+    }
+
+    @Test
+    public void writesNothingWhenEveryValueIsInvalid() {
+        Args args = new Args();
+        args.tryParse(new String[] {"--port", "1,x", "--counts", "y"});
+        assertNull(args.ports);
+        assertNull(args.counts);
+    }
+
+    @Test
+    public void splitsLongLists() {
+        StringBuilder ports = new StringBuilder("1");
+        for (int i = 2; i <= 50000; i++) {
+            ports.append(',').append(i);
+        }
+        Args args = new Args();
+        args.parse(new String[] {"--port", ports.toString()});
+        assertEquals(50000, args.ports.length);
+        assertEquals(50000, args.ports[49999]);
+    }
+}
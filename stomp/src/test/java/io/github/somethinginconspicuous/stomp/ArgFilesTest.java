@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArgFilesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg
+        public int count;
+        @Arg(shortName = "v")
+        public boolean verbose;
+    }
+
+    @ArgFiles
+    public static class FileArgs extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg
+        public int count;
+        @Arg(shortName = "v")
+        public boolean verbose;
+    }
+
+    private File file(String name, String content) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void expandsArgumentFiles() throws IOException {
+        File file = file("opts", "--name 'from file'\n# a comment\n--count 4\n");
+        FileArgs args = new FileArgs();
+        args.parse(new String[] {"-v", "@" + file.getPath()});
+        assertEquals("from file", args.name);
+        assertEquals(4, args.count);
+        assertTrue(args.verbose);
+    }
+
+    @Test
+    public void expandsNestedArgumentFiles() throws IOException {
+        File inner = file("inner", "--count 9");
+        File outer = file("outer", "-n outer @" + inner.getPath());
+        FileArgs args = new FileArgs();
+        args.parse(new String[] {"@" + outer.getPath()});
+        assertEquals("outer", args.name);
+        assertEquals(9, args.count);
+    }
+
+    @Test
+    public void keepsTheIndexOfTheArgumentFile() throws IOException {
+        File file = file("bad", "--count nine");
+        ParseResult result = new FileArgs().tryParse(new String[] {"-v", "@" + file.getPath()});
+        assertEquals(Diagnostic.Code.INVALID_VALUE, result.errors().get(0).code());
+        assertEquals(1, result.errors().get(0).index());
+    }
+
+    @Test
+    public void reportsUnreadableArgumentFiles() {
+        ParseResult result = new FileArgs().tryParse(new String[] {"-v", "@" + new File(folder.getRoot(), "missing").getPath()});
+        assertEquals(Diagnostic.Code.UNREADABLE_ARG_FILE, result.errors().get(0).code());
+        assertEquals(1, result.errors().get(0).index());
+    }
+
+    @Test
+    public void leavesArgumentFilesAloneWithoutTheAnnotation() {
+        Args args = new Args();
+        args.parse(new String[] {"-n", "@name"});
+        assertEquals("@name", args.name);
+    }
+}
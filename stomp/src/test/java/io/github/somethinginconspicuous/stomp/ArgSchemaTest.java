@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+public class ArgSchemaTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n", required = true)
+        public String name;
+        @Arg
+        public int count;
+        @NotArg
+        public int handled;
+    }
+
+    public static class Unannotated extends AbstractArgs {
+        @Arg
+        public int count;
+        public int forgotten;
+    }
+
+    @Test
+    public void isBuiltOncePerClass() {
+        assertSame(ArgSchema.of(Args.class), ArgSchema.of(Args.class));
+    }
+
+    @Test
+    public void bindsArgumentFieldsInOrder() {
+        ArgSchema schema = ArgSchema.of(Args.class);
+        assertEquals(2, schema.bindings.length);
+        assertEquals("--name", schema.bindings[0].longName);
+        assertEquals(0, schema.bindings[0].index);
+        assertEquals("--count", schema.bindings[1].longName);
+        assertEquals(1, schema.bindings[1].index);
+        assertEquals(1, schema.requiredBindings.length);
+        assertEquals(1, schema.bitWords);
+        assertNull(schema.abbreviations);
+        assertFalse(schema.argFiles);
+        assertTrue(schema.warnings.isEmpty());
+    }
+
+    @Test
+    public void warnsOnceAboutFieldsWithoutAnnotations() {
+        final PrintStream err = System.err;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(printed, true));
+        try {
+            ArgSchema.of(Unannotated.class);
+            ArgSchema.of(Unannotated.class);
+        } finally {
+            System.setErr(err);
+        }
+        ArgSchema schema = ArgSchema.of(Unannotated.class);
+        assertEquals(1, schema.warnings.size());
+        assertEquals(Code.MISSING_ANNOTATION, schema.warnings.get(0).code());
+        assertEquals(schema.warnings.get(0).toString(), printed.toString().trim());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+public class ArgSourcesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Args extends AbstractArgs {
+        @Arg(env = "APP_PORT")
+        public int port = 80;
+        @Arg(env = "APP_HOST")
+        public String host = "initial";
+        @Arg(longName = "log-level", required = true)
+        public String logLevel;
+        @Arg(env = "APP_VERBOSE")
+        public boolean verbose;
+    }
+
+    private static Map<String, String> map(String... entries) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static final ArgSources SOURCES = ArgSources.none()
+            .withEnvironment(map("APP_PORT", "8080", "APP_VERBOSE", "true"))
+            .withDefaults(map("port", "9090", "host", "from-defaults", "log-level", "info"));
+
+    @Test
+    public void prefersArgumentsThenEnvironmentThenDefaults() {
+        Args args = new Args();
+        args.parse(new String[] {"--host", "from-args"}, SOURCES);
+        assertEquals("from-args", args.host);
+        assertEquals(8080, args.port);
+        assertEquals("info", args.logLevel);
+        assertTrue(args.verbose);
+    }
+
+    @Test
+    public void keepsInitializersWithoutAnySource() {
+        Args args = new Args();
+        args.parse(new String[] {"--log-level", "warn"}, ArgSources.none());
+        assertEquals(80, args.port);
+        assertEquals("initial", args.host);
+    }
+
+    @Test
+    public void readsDefaultsFiles() throws IOException {
+        File file = folder.newFile("app.properties");
+        Files.write(file.toPath(), "# defaults\nport=7070\nlog-level=debug\n".getBytes(StandardCharsets.UTF_8));
+        Args args = new Args();
+        args.parse(new String[0], ArgSources.none().withDefaults(file.toPath()));
+        assertEquals(7070, args.port);
+        assertEquals("debug", args.logLevel);
+    }
+
+    @Test
+    public void takesSnapshots() {
+        Map<String, String> environment = map("APP_PORT", "1");
+        ArgSources sources = ArgSources.none().withEnvironment(environment).withDefaults(map("log-level", "info"));
+        environment.put("APP_PORT", "2");
+        Args args = new Args();
+        args.parse(new String[0], sources);
+        assertEquals(1, args.port);
+    }
+
+    @Test
+    public void reportsBadValuesAndMissingOptions() {
+        List<Diagnostic> errors = new Args().tryParse(new String[0], ArgSources.none().withEnvironment(map("APP_PORT", "eighty"))).errors();
+        assertEquals(2, errors.size());
+        assertEquals(Code.INVALID_VALUE, errors.get(0).code());
+        assertEquals(Code.MISSING_REQUIRED, errors.get(1).code());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+public class ArgValueTest {
+    /** A value whose conversions are counted. */
+    public static final class Counted {
+    }
+
+    private static final AtomicInteger CONVERSIONS = new AtomicInteger();
+
+    static {
+        Converters.register(Counted.class, new Converter<Counted>() {
+            @Override
+            public Counted convert(String value) {
+                CONVERSIONS.incrementAndGet();
+                return new Counted();
+            }
+        });
+    }
+
+    public static class Args extends AbstractArgs {
+        @Arg
+        public ArgValue<BigDecimal> rate = ArgValue.of(BigDecimal.ONE);
+        @Arg
+        public ArgValue<String> name;
+        @Arg
+        public ArgValue<Counted> counted;
+    }
+
+    @Test
+    public void keepsDefaultsThatAreNotGiven() {
+        Args args = new Args();
+        args.parse(new String[0]);
+        assertEquals(BigDecimal.ONE, args.rate.get());
+        assertTrue(args.rate.isConverted());
+        assertNull(args.rate.raw());
+        assertNull(args.rate.option());
+        assertNull(args.name);
+    }
+
+    @Test
+    public void convertsWhenFirstRead() {
+        Args args = new Args();
+        args.parse(new String[] {"--rate", "1.5", "--name", "x"});
+        assertFalse(args.rate.isConverted());
+        assertEquals("1.5", args.rate.raw());
+        assertEquals("--rate", args.rate.option());
+        assertEquals(new BigDecimal("1.5"), args.rate.get());
+        assertTrue(args.rate.isConverted());
+        assertEquals("x", args.name.get());
+    }
+
+    @Test
+    public void convertsOnce() {
+        Args args = new Args();
+        args.parse(new String[] {"--counted", "c"});
+        final int before = CONVERSIONS.get();
+        Counted counted = args.counted.get();
+        assertSame(counted, args.counted.get());
+        assertEquals(before + 1, CONVERSIONS.get());
+    }
+
+    @Test
+    public void reportsBadValuesWhenRead() {
+        Args args = new Args();
+        assertTrue(args.tryParse(new String[] {"--rate", "fast"}).isSuccess());
+        Diagnostic error = args.rate.check();
+        assertEquals(Code.INVALID_VALUE, error.code());
+        assertEquals("--rate", error.option());
+        assertTrue(args.rate.isConverted());
+        try {
+            args.rate.get();
+            fail();
+        } catch (IllegalCommandArgumentException e) {
+            assertSame(error, args.rate.check());
+        }
+    }
+
+    @Test
+    public void checksGoodValuesWithoutErrors() {
+        Args args = new Args();
+        args.parse(new String[] {"--rate", "2"});
+        assertNull(args.rate.check());
+        assertEquals("2", args.rate.toString());
+    }
+}
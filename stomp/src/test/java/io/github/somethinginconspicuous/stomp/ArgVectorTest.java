@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ArgVectorTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg
+        public int count;
+        @Arg(shortName = "v")
+        public boolean verbose;
+    }
+
+    @Abbreviations
+    public static class Abbreviated extends AbstractArgs {
+        @Arg
+        public boolean verbose;
+    }
+
+    private static String[] strings(ArgVector vector) {
+        String[] strings = new String[vector.size()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = vector.string(i);
+        }
+        return strings;
+    }
+
+    @Test
+    public void splitsLikeAShell() {
+        ArgVector vector = ArgVector.split("  --name 'a b' x\\ y \"c \\\"d\\\"\" '' -v ", false, ParseResult.THROWING);
+        assertArrayEquals(new String[] {"--name", "a b", "x y", "c \"d\"", "", "-v"}, strings(vector));
+        assertEquals(vector.size(), vector.end);
+    }
+
+    @Test
+    public void keepsQuotesInsideOtherQuotes() {
+        ArgVector vector = ArgVector.split("'a \"b\" \\c' \"it's\" a\\", false, ParseResult.THROWING);
+        assertArrayEquals(new String[] {"a \"b\" \\c", "it's", "a\\"}, strings(vector));
+    }
+
+    @Test
+    public void splitsBlankLinesIntoNothing() {
+        assertEquals(0, ArgVector.split(" \t ", false, ParseResult.THROWING).size());
+    }
+
+    @Test
+    public void parsesLines() {
+        Args args = new Args();
+        args.parse("--name 'a b' --count 3 -v");
+        assertEquals("a b", args.name);
+        assertEquals(3, args.count);
+        assertTrue(args.verbose);
+    }
+
+    @Test
+    public void parsesUtf8Buffers() {
+        Args args = new Args();
+        args.parse(ByteBuffer.wrap("-n \"gr\u00fc\u00df \u00e9\" --count 7".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("gr\u00fc\u00df \u00e9", args.name);
+        assertEquals(7, args.count);
+    }
+
+    @Test
+    public void reportsErrorsAtTheIndexOfTheArgument() {
+        ParseResult result = new Args().tryParse("-v --count x");
+        assertEquals(Diagnostic.Code.INVALID_VALUE, result.errors().get(0).code());
+        assertEquals(2, result.errors().get(0).index());
+    }
+
+    @Test
+    public void selectsArgumentsWithTheirIndices() {
+        String[] args = {"-v", "db", "migrate", "--count", "2"};
+        ArgVector vector = ArgVector.select(args, new int[] {0, 3, 4}, 3, false, ParseResult.THROWING);
+        List<String> selected = Arrays.asList(strings(vector));
+        assertEquals(Arrays.asList("-v", "--count", "2"), selected);
+        assertEquals(3, vector.origin(1));
+    }
+
+    @Test
+    public void takesQuotedOptions() {
+        Args args = new Args();
+        args.parse("'--name' x \\-v");
+        assertEquals("x", args.name);
+        assertTrue(args.verbose);
+    }
+
+    @Test
+    public void leavesQuotedWordsAsWords() {
+        Abbreviated args = new Abbreviated();
+        ParseResult result = args.tryParse("'stray' --verb");
+        assertTrue(result.isSuccess());
+        assertTrue(args.verbose);
+        assertFalse(args.tryParse("stray \"\"-x").isSuccess());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+public class BatchParserTest {
+    public static class Args extends AbstractArgs {
+        @Arg
+        public int n;
+    }
+
+    @Test
+    public void givesResultsInOrder() throws InterruptedException {
+        List<String[]> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add(new String[] {"--n", i % 100 == 99 ? "x" : Integer.toString(i)});
+        }
+        final List<Long> order = new ArrayList<>();
+        final int[] failed = {0};
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            new BatchParser<>(Args.class, pool, 8).parse(lines, new BatchParser.Handler<Args>() {
+                @Override
+                public void handle(long line, Args args, ParseResult result) {
+                    order.add(line);
+                    if(result.isSuccess()){
+                        assertEquals(line - 1, args.n);
+                    } else {
+                        failed[0]++;
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(500, order.size());
+        for (int i = 0; i < order.size(); i++) {
+            assertEquals(i + 1, (long) order.get(i));
+        }
+        assertEquals(5, failed[0]);
+    }
+
+    @Test
+    public void readsIteratorsOnlyAsFarAsTheWindow() throws InterruptedException {
+        final int[] read = {0};
+        Iterator<String[]> lines = new Iterator<String[]>() {
+            @Override
+            public boolean hasNext() {
+                return read[0] < 100;
+            }
+
+            @Override
+            public String[] next() {
+                return new String[] {"--n", Integer.toString(read[0]++)};
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        final int window = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            new BatchParser<>(Args.class, pool, window).parse(lines, new BatchParser.Handler<Args>() {
+                @Override
+                public void handle(long line, Args args, ParseResult result) {
+                    assertEquals(line - 1, args.n);
+                    assertTrue(read[0] <= line + window);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(100, read[0]);
+    }
+}
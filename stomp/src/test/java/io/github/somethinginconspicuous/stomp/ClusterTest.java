@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+public class ClusterTest {
+    public static class Bools extends AbstractArgs {
+        @Arg(shortName = "x")
+        public boolean x;
+        @Arg(shortName = "v")
+        public boolean v;
+        @Arg(shortName = "f")
+        public Boolean f;
+        @Arg(shortName = "n")
+        public String name;
+    }
+
+    public static class Tar extends AbstractArgs {
+        public enum Mode { EXTRACT, CREATE, GZIP }
+
+        @Arg(shortName = "v")
+        @Count
+        public int verbose;
+        @Arg(shortName = "q")
+        public boolean quiet;
+        @Arg(longName = "mode")
+        @Flags("xcz")
+        public EnumSet<Mode> mode;
+        @Arg
+        @Flags("ab")
+        public long bits;
+        @Arg(env = "TAR_LEVEL")
+        @Count
+        public Long level;
+        @Arg
+        public String file;
+    }
+
+    private static Bools bools(String... args) {
+        Bools bools = new Bools();
+        bools.parse(args);
+        return bools;
+    }
+
+    private static Tar tar(String... args) {
+        Tar tar = new Tar();
+        tar.parse(args);
+        return tar;
+    }
+
+    @Test
+    public void splitsClusteredBooleans() {
+        Bools bools = bools("-xvf");
+        assertTrue(bools.x);
+        assertTrue(bools.v);
+        assertEquals(Boolean.TRUE, bools.f);
+    }
+
+    @Test
+    public void setsRepeatedBooleansOnce() {
+        Bools bools = bools("-xx");
+        assertTrue(bools.x);
+        assertFalse(bools.v);
+    }
+
+    @Test
+    public void ignoresClustersWithUnknownLetters() {
+        Bools bools = bools("-xvq");
+        assertFalse(bools.x);
+        assertFalse(bools.v);
+    }
+
+    @Test
+    public void leavesQuotedWordsOfFlagLettersAlone() {
+        Bools bools = new Bools();
+        assertTrue(bools.tryParse("'axv'").isSuccess());
+        assertFalse(bools.x);
+        assertFalse(bools.v);
+
+        bools = new Bools();
+        bools.parse("--name 'axv'");
+        assertEquals("axv", bools.name);
+        assertFalse(bools.x);
+        assertFalse(bools.v);
+    }
+
+    @Test
+    public void splitsQuotedClusters() {
+        Bools bools = new Bools();
+        bools.parse("'-xv'");
+        assertTrue(bools.x);
+        assertTrue(bools.v);
+    }
+
+    @Test
+    public void takesAClusterAsAValue() {
+        Bools bools = bools("-n", "-xv");
+        assertEquals("-xv", bools.name);
+    }
+
+    @Test
+    public void countsOccurrences() {
+        assertEquals(3, tar("-vvv").verbose);
+        assertEquals(3, tar("-v", "--verbose", "-qv").verbose);
+        assertEquals(0, tar().verbose);
+    }
+
+    @Test
+    public void setsFlagsFromLettersAndClusters() {
+        Tar tar = tar("-vxq", "--file", "a");
+        assertEquals(1, tar.verbose);
+        assertTrue(tar.quiet);
+        assertEquals(EnumSet.of(Tar.Mode.EXTRACT), tar.mode);
+        assertEquals("a", tar.file);
+
+        assertEquals(EnumSet.allOf(Tar.Mode.class), tar("--mode", "xz", "-c").mode);
+        assertNull(tar().mode);
+    }
+
+    @Test
+    public void setsFlagBits() {
+        assertEquals(3, tar("-a", "--bits", "b").bits);
+        assertEquals(2, tar("-b").bits);
+    }
+
+    @Test
+    public void reportsUnknownFlagLetters() {
+        Tar tar = new Tar();
+        ParseResult result = tar.tryParse(new String[] {"--mode", "xq"});
+        assertEquals(Diagnostic.Code.INVALID_VALUE, result.errors().get(0).code());
+        assertNull(tar.mode);
+    }
+
+    @Test
+    public void takesCountsFromSources() {
+        Tar tar = new Tar();
+        tar.parse(new String[0], ArgSources.none().withEnvironment(Collections.singletonMap("TAR_LEVEL", "4")));
+        assertEquals(Long.valueOf(4), tar.level);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CommandLoopTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name = "none";
+        @Arg
+        public int count = 1;
+        @Arg(shortName = "q")
+        public boolean quit;
+        @Arg
+        public String[] tags = {};
+        @NotArg
+        public int handled;
+    }
+
+    /** Keeps what each line was parsed into, since the container is reused. */
+    private static final class Recorder implements CommandLoop.Handler<Args> {
+        final List<String> lines = new ArrayList<>();
+        final List<Args> containers = new ArrayList<>();
+
+        @Override
+        public boolean handle(long line, Args args, ParseResult result) {
+            lines.add(line + ":" + (result.isSuccess() ? args.name + "," + args.count + "," + Arrays.toString(args.tags)
+                    : result.errors().get(0).code().toString()));
+            containers.add(args);
+            args.handled++;
+            return !args.quit;
+        }
+    }
+
+    @Test
+    public void parsesEveryLineFromTheDefaults() throws IOException {
+        Recorder recorder = new Recorder();
+        long read = new CommandLoop<>(Args.class).run(new StringReader("-n a --count 2 --tags x\n--tags y\n-n 'b c'"), recorder);
+        assertEquals(3, read);
+        assertEquals(Arrays.asList("1:a,2,[x]", "2:none,1,[y]", "3:b c,1,[]"), recorder.lines);
+    }
+
+    @Test
+    public void reusesOneContainer() throws IOException {
+        Recorder recorder = new Recorder();
+        new CommandLoop<>(Args.class).run(new StringReader("-n a\n-n b\n"), recorder);
+        assertSame(recorder.containers.get(0), recorder.containers.get(1));
+        // fields that are not options are not reset
+        assertEquals(2, recorder.containers.get(1).handled);
+    }
+
+    @Test
+    public void skipsBlankLinesAndCarriageReturns() throws IOException {
+        Recorder recorder = new Recorder();
+        long read = new CommandLoop<>(Args.class).run(new StringReader("-n a\r\n\n   \r\n-n b\r\n"), recorder);
+        assertEquals(4, read);
+        assertEquals(Arrays.asList("1:a,1,[]", "4:b,1,[]"), recorder.lines);
+    }
+
+    @Test
+    public void goesOnAfterErrors() throws IOException {
+        Recorder recorder = new Recorder();
+        new CommandLoop<>(Args.class).run(new StringReader("--count many\n-n ok\n"), recorder);
+        assertEquals(Arrays.asList("1:INVALID_VALUE", "2:ok,1,[]"), recorder.lines);
+    }
+
+    @Test
+    public void stopsWhenTheHandlerSaysSo() throws IOException {
+        Recorder recorder = new Recorder();
+        long read = new CommandLoop<>(Args.class).run(new StringReader("-n a\n-q\n-n b\n"), recorder);
+        assertEquals(2, read);
+        assertEquals(2, recorder.lines.size());
+    }
+
+    @Test
+    public void readsLongLinesFromStreams() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            name.append((char) ('a' + i % 26));
+        }
+        Recorder recorder = new Recorder();
+        new CommandLoop<>(Args.class).run(new ByteArrayInputStream(("-n " + name + " --count 3\n").getBytes(StandardCharsets.UTF_8)), recorder);
+        assertEquals(Arrays.asList("1:" + name + ",3,[]"), recorder.lines);
+    }
+
+    @Test
+    public void resetsToTheDefaults() {
+        Args args = new Args();
+        args.parse(new String[] {"-n", "a", "--count", "5", "-q", "--tags", "x"});
+        args.handled = 3;
+        args.reset();
+        assertEquals("none", args.name);
+        assertEquals(1, args.count);
+        assertFalse(args.quit);
+        assertEquals(0, args.tags.length);
+        assertEquals(3, args.handled);
+
+        args.parse(new String[] {"-q"});
+        assertTrue(args.quit);
+        assertEquals("none", args.name);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+public class CommandTreeTest {
+    public static class GlobalArgs extends AbstractArgs {
+        @Arg(shortName = "v")
+        public boolean verbose;
+        @Arg
+        public String config;
+    }
+
+    public static class MigrateArgs extends AbstractArgs {
+        @Arg
+        public boolean dry;
+    }
+
+    public static class StatusArgs extends AbstractArgs {
+        @Arg
+        public int limit;
+    }
+
+    private static CommandTree tree() {
+        return new CommandTree(GlobalArgs.class)
+                .add("db migrate", MigrateArgs.class)
+                .add("db status", StatusArgs.class.getName());
+    }
+
+    private static String[] args(String line) {
+        return line.split(" ");
+    }
+
+    @Test
+    public void dispatchesToTheCommand() {
+        Command command = tree().parse(args("db migrate --dry -v"));
+        assertEquals("db migrate", command.path());
+        assertEquals(2, command.start());
+        assertEquals(2, command.containers().size());
+        assertTrue(command.args(MigrateArgs.class).dry);
+        assertTrue(command.args(GlobalArgs.class).verbose);
+    }
+
+    @Test
+    public void loadsCommandsAddedByName() {
+        Command command = tree().parse(args("db status --limit 5"));
+        assertEquals(5, ((StatusArgs) command.args()).limit);
+    }
+
+    @Test
+    public void parsesOptionsBeforeTheCommand() {
+        Command command = tree().parse(args("-v --config db db migrate --dry"));
+        assertEquals("db migrate", command.path());
+        assertEquals(5, command.start());
+        GlobalArgs global = command.args(GlobalArgs.class);
+        assertTrue(global.verbose);
+        assertEquals("db", global.config);
+        assertTrue(command.args(MigrateArgs.class).dry);
+    }
+
+    @Test
+    public void reportsUnknownCommandUnderATypedNode() {
+        Command command = tree().tryParse(args("frobnicate -v"));
+        assertFalse(command.result().isSuccess());
+        assertEquals(Diagnostic.Code.UNKNOWN_COMMAND, command.result().errors().get(0).code());
+        assertEquals(0, command.result().errors().get(0).index());
+        assertTrue(command.containers().isEmpty());
+    }
+
+    @Test
+    public void reportsUnknownCommandAfterOptions() {
+        Command command = tree().tryParse(args("-v db frobnicate"));
+        assertEquals(Diagnostic.Code.UNKNOWN_COMMAND, command.result().errors().get(0).code());
+        assertEquals(2, command.result().errors().get(0).index());
+    }
+
+    @Test(expected = IllegalCommandArgumentException.class)
+    public void throwsForUnknownCommand() {
+        tree().parse(args("frobnicate"));
+    }
+
+    @Test
+    public void reportsMissingCommand() {
+        Command command = tree().tryParse(args("db --verbose"));
+        assertEquals(Diagnostic.Code.UNKNOWN_COMMAND, command.result().errors().get(0).code());
+    }
+
+    @Test
+    public void rootRunsWithOnlyOptions() {
+        Command command = tree().parse(args("-v"));
+        assertEquals("", command.path());
+        assertNotNull(command.args(GlobalArgs.class));
+        assertTrue(command.args(GlobalArgs.class).verbose);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CompletionTest {
+    public enum Level {
+        LOW, HIGH
+    }
+
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "l")
+        public Level level;
+        @Arg(longName = "it's$(x)")
+        public String odd;
+        @Arg
+        public boolean verbose;
+    }
+
+    @Test
+    public void completesOptionsAndValues() {
+        assertEquals(Arrays.asList("--verbose"), Completion.complete(Args.class, new String[] {"--v"}, 0));
+        assertEquals(Arrays.asList("HIGH"), Completion.complete(Args.class, new String[] {"-l", "h"}, 1));
+        assertEquals(Arrays.asList("LOW", "HIGH"), Completion.complete(Args.class, new String[] {"--level"}, 1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsACursorAfterTheWords() {
+        Completion.complete(Args.class, new String[] {"--level"}, 2);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsANegativeCursor() {
+        Completion.complete(Args.class, new String[0], -1);
+    }
+
+    @Test
+    public void quotesNamesInBashScripts() {
+        final String script = Completion.script(Args.class, "my app", Completion.Shell.BASH);
+        assertTrue(script.contains("'--it'\\''s$(x)'"));
+        assertTrue(script.contains("complete -o default -F _my_app_complete 'my app'\n"));
+        assertFalse(script.contains("compgen -W"));
+    }
+
+    @Test
+    public void quotesNamesInZshScripts() {
+        final String script = Completion.script(Args.class, "my-app", Completion.Shell.ZSH);
+        assertTrue(script.contains("'--it'\\''s$\\(x\\):it'\\''s$\\(x\\): '"));
+        assertTrue(script.contains("'(--level -l)--level:level:(LOW HIGH)'"));
+        assertTrue(script.contains("'(--level -l)-l:level:(LOW HIGH)'"));
+    }
+
+    @Test
+    public void quotesNamesInFishScripts() {
+        final String script = Completion.script(Args.class, "my-app", Completion.Shell.FISH);
+        assertTrue(script.contains("complete -c 'my-app' -l 'it\\'s$(x)' -x\n"));
+        assertTrue(script.contains("-l 'level' -s 'l' -x -a 'LOW HIGH'\n"));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+
+public class ConstraintsTest {
+    public static class Ranged extends AbstractArgs {
+        @Arg @Range(min = 1, max = 8)
+        public int threads = 1;
+        @Arg @Range(min = 0)
+        public long size;
+        @Arg @Range(minValue = 0.5, maxValue = 2.5)
+        public double scale = 1;
+        @Arg @Range(min = 0, maxValue = 0.75)
+        public float ratio;
+    }
+
+    public static class Checked extends AbstractArgs {
+        @Arg @Pattern("[a-z]+")
+        public String name;
+        @Arg @OneOf({"fast", "safe"})
+        public String mode = "safe";
+        @Arg @Exclusive("format")
+        public boolean json;
+        @Arg @Exclusive("format")
+        public boolean xml;
+        @Arg @Exclusive("format")
+        public boolean yaml;
+        @Arg
+        public String user;
+        @Arg
+        public String host;
+        @Arg @Requires({"user", "--host"})
+        public String password;
+    }
+
+    public static class Invalid extends AbstractArgs {
+        @Arg @Range(max = 3)
+        public String name;
+        @Arg @Pattern("x")
+        public int count;
+        @Arg @Requires("missing")
+        public boolean verbose;
+    }
+
+    private static List<Diagnostic> errors(AbstractArgs args, String... argv) {
+        return args.tryParse(argv).errors();
+    }
+
+    @Test
+    public void acceptsValuesInRange() {
+        assertTrue(errors(new Ranged(), "--threads", "8", "--size", "0", "--scale", "2.5", "--ratio", "0.75").isEmpty());
+    }
+
+    @Test
+    public void reportsValuesOutOfRange() {
+        List<Diagnostic> errors = errors(new Ranged(), "--threads", "9", "--size", "-1");
+        assertEquals(2, errors.size());
+        assertEquals(Code.OUT_OF_RANGE, errors.get(0).code());
+        assertEquals("Argument --threads must be from 1 to 8, but was 9.", errors.get(0).message());
+        assertEquals("Argument --size must be at least 0, but was -1.", errors.get(1).message());
+    }
+
+    @Test
+    public void checksBoundsThatAreNotWholeNumbers() {
+        List<Diagnostic> errors = errors(new Ranged(), "--scale", "0.25", "--ratio", "0.875");
+        assertEquals(2, errors.size());
+        assertEquals("Argument --scale must be from 0.5 to 2.5, but was 0.25.", errors.get(0).message());
+        assertEquals("Argument --ratio must be from 0 to 0.75, but was 0.875.", errors.get(1).message());
+    }
+
+    @Test
+    public void acceptsAllowedValues() {
+        assertTrue(errors(new Checked(), "--name", "abc", "--mode", "fast", "--xml", "--password", "p", "--user", "u", "--host", "h").isEmpty());
+    }
+
+    @Test
+    public void checksPatternsAgainstWholeValues() {
+        List<Diagnostic> errors = errors(new Checked(), "--name", "abc1");
+        assertEquals(1, errors.size());
+        assertEquals(Code.NOT_ALLOWED, errors.get(0).code());
+        assertEquals("Argument --name must match \"[a-z]+\", but was \"abc1\".", errors.get(0).message());
+    }
+
+    @Test
+    public void checksAllowedValues() {
+        List<Diagnostic> errors = errors(new Checked(), "--mode", "slow");
+        assertEquals(1, errors.size());
+        assertEquals("Argument --mode must be one of [fast, safe], but was \"slow\".", errors.get(0).message());
+    }
+
+    @Test
+    public void onlyChecksValuesThatWereGiven() {
+        // a default outside of the constraint is the container's choice
+        Checked checked = new Checked();
+        checked.mode = "slow";
+        assertTrue(checked.tryParse(new String[0]).isSuccess());
+    }
+
+    @Test
+    public void reportsExclusiveOptionsGivenTogether() {
+        List<Diagnostic> errors = errors(new Checked(), "--json", "--yaml");
+        assertEquals(1, errors.size());
+        assertEquals(Code.CONFLICTING_OPTIONS, errors.get(0).code());
+        assertEquals("Arguments --json, --yaml cannot be given together (group \"format\").", errors.get(0).message());
+    }
+
+    @Test
+    public void reportsMissingDependencies() {
+        List<Diagnostic> errors = errors(new Checked(), "--password", "p", "--host", "h");
+        assertEquals(1, errors.size());
+        assertEquals(Code.MISSING_DEPENDENCY, errors.get(0).code());
+        assertEquals("Argument --password requires --user.", errors.get(0).message());
+        assertTrue(errors(new Checked(), "--user", "u").isEmpty());
+    }
+
+    @Test
+    public void reportsEveryViolationAtOnce() {
+        List<Diagnostic> errors = errors(new Checked(), "--name", "1", "--mode", "x", "--json", "--xml", "--password", "p");
+        assertEquals(4, errors.size());
+    }
+
+    @Test
+    public void warnsAboutConstraintsThatCannotBeUsed() {
+        final PrintStream err = System.err;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(printed, true));
+        final ParseResult result;
+        try {
+            // the warnings are also printed once, when the schema is built
+            result = new Invalid().tryParse(new String[] {"--count", "1", "--name", "x"});
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(printed.toString().contains("INVALID_CONSTRAINT"));
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.warnings().size());
+        for (Diagnostic warning : result.warnings()) {
+            assertEquals(Code.INVALID_CONSTRAINT, warning.code());
+        }
+    }
+}
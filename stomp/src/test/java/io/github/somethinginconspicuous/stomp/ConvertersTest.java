@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class ConvertersTest {
+    public enum Mode {
+        FAST, Slow, Loud, LOUD
+    }
+
+    public static class Name {
+        final String value;
+
+        public Name(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Late {
+        public Late(String value) {
+        }
+    }
+
+    private static final Converter<Name> UPPER = new Converter<Name>() {
+        @Override
+        public Name convert(String value) {
+            return new Name(value.toUpperCase());
+        }
+    };
+
+    @Test
+    public void convertsEnumsIgnoringCaseWhenThatIsNotAmbiguous() throws Exception {
+        Converter<Mode> converter = Converters.find(Mode.class);
+        assertEquals(Mode.FAST, converter.convert("fast"));
+        assertEquals(Mode.Slow, converter.convert("SLOW"));
+        assertEquals(Mode.Loud, converter.convert("Loud"));
+        assertEquals(Mode.LOUD, converter.convert("LOUD"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAmbiguousEnumNames() throws Exception {
+        Converters.find(Mode.class).convert("loud");
+    }
+
+    @Test
+    public void convertsThroughFactoriesAndConstructors() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, Converters.find(UUID.class).convert(uuid.toString()));
+        assertEquals(new BigDecimal("1.50"), Converters.find(BigDecimal.class).convert("1.50"));
+        assertEquals(new File("a"), Converters.find(File.class).convert("a"));
+        assertEquals("a+", Converters.find(java.util.regex.Pattern.class).convert("a+").pattern());
+        assertTrue(Converters.isBuiltIn(Converters.find(File.class)));
+    }
+
+    @Test
+    public void convertsPathsAndAddresses() throws Exception {
+        assertEquals(Paths.get("a", "b"), Converters.find(Path.class).convert("a/b"));
+        assertEquals(InetAddress.getByName("127.0.0.1"), Converters.find(InetAddress.class).convert("127.0.0.1"));
+    }
+
+    @Test
+    public void findsNothingForTypesWithoutAStringForm() {
+        assertNull(Converters.find(Object.class));
+        assertNull(Converters.find(Runnable.class));
+    }
+
+    @Test
+    public void prefersRegisteredConverters() throws Exception {
+        assertFalse(Converters.find(Name.class) == UPPER);
+        Converters.register(Name.class, UPPER);
+        assertSame(UPPER, Converters.find(Name.class));
+        assertEquals("X", Converters.find(Name.class).convert("x").value);
+        assertFalse(Converters.isBuiltIn(UPPER));
+    }
+
+    @Test
+    public void warnsAboutConvertersRegisteredTooLate() {
+        Converters.bind(Late.class);
+        final PrintStream err = System.err;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(printed, true));
+        try {
+            Converters.register(Late.class, new Converter<Late>() {
+                @Override
+                public Late convert(String value) {
+                    return null;
+                }
+            });
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(printed.toString().contains(Late.class.getName()));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Test;
+
+public class FieldWriterTest {
+    public static class Fields {
+        private int count;
+        public long size;
+        public double ratio;
+        public char separator;
+        public Integer boxed;
+        public String name;
+        public File file;
+        public boolean verbose;
+        public Boolean color;
+        public static short shared;
+    }
+
+    private static FieldWriter writer(String name) throws ReflectiveOperationException {
+        return new FieldWriter(Fields.class.getDeclaredField(name));
+    }
+
+    @Test
+    public void writesPrimitiveFields() throws ReflectiveOperationException {
+        Fields fields = new Fields();
+        writer("count").setInt(fields, 3);
+        writer("size").setLong(fields, 1L << 40);
+        writer("ratio").setDouble(fields, 0.5);
+        writer("separator").setChar(fields, ',');
+        writer("verbose").setBoolean(fields, true);
+        assertEquals(3, fields.count);
+        assertEquals(1L << 40, fields.size);
+        assertEquals(0.5, fields.ratio, 0);
+        assertEquals(',', fields.separator);
+        assertTrue(fields.verbose);
+    }
+
+    @Test
+    public void writesWrapperFieldsFromPrimitives() throws ReflectiveOperationException {
+        Fields fields = new Fields();
+        writer("boxed").setInt(fields, 7);
+        writer("color").setBoolean(fields, false);
+        assertEquals(Integer.valueOf(7), fields.boxed);
+        assertEquals(Boolean.FALSE, fields.color);
+    }
+
+    @Test
+    public void writesObjectFields() throws ReflectiveOperationException {
+        Fields fields = new Fields();
+        writer("name").setString(fields, "stomp");
+        writer("file").setObject(fields, new File("a"));
+        assertEquals("stomp", fields.name);
+        assertEquals(new File("a"), fields.file);
+    }
+
+    @Test
+    public void writesStaticFields() throws ReflectiveOperationException {
+        writer("shared").setShort(new Fields(), (short) 9);
+        assertEquals(9, Fields.shared);
+    }
+
+    @Test
+    public void readsBooleansThatWereNeverGiven() throws ReflectiveOperationException {
+        Fields fields = new Fields();
+        assertFalse(writer("color").getBoolean(fields));
+        fields.color = true;
+        assertTrue(writer("color").getBoolean(fields));
+        fields.verbose = true;
+        assertTrue(writer("verbose").getBoolean(fields));
+    }
+}
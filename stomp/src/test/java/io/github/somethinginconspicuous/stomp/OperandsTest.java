@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class OperandsTest {
+    public static class Args extends AbstractArgs {
+        @Positional(value = 0, required = true)
+        public String src;
+        @Positional(1)
+        public int n;
+        @Positional
+        public List<String> files;
+        @Positional(passthrough = true)
+        public List<String> child;
+        @Arg(shortName = "v")
+        public boolean verbose;
+        @Arg(shortName = "o")
+        public String out;
+    }
+
+    public static class Single extends AbstractArgs {
+        @Positional(0)
+        public String a;
+        @Arg
+        public Boolean flag;
+    }
+
+    private static Args parse(String... argv) {
+        Args args = new Args();
+        args.parse(argv);
+        return args;
+    }
+
+    @Test
+    public void takesOperandsByPosition() {
+        Args args = parse("-o", "out", "in", "3", "a", "-v", "b", "c");
+        assertEquals("in", args.src);
+        assertEquals(3, args.n);
+        assertEquals(Arrays.asList("a", "b", "c"), args.files);
+        assertEquals("out", args.out);
+        assertTrue(args.verbose);
+        assertNull(args.child);
+    }
+
+    @Test
+    public void passesThroughArgumentsAfterTheSeparator() {
+        Args args = parse("in", "3", "-v", "f1", "f2", "--", "--x", "y");
+        assertEquals(Arrays.asList("f1", "f2"), args.files);
+        assertEquals(Arrays.asList("--x", "y"), args.child);
+        assertTrue(args.verbose);
+    }
+
+    @Test
+    public void takesBooleanLiterals() {
+        Args args = parse("-v", "true", "in");
+        assertTrue(args.verbose);
+        assertEquals("in", args.src);
+    }
+
+    @Test
+    public void takesDashesAndNegativeNumbersAsOperands() {
+        ParseResult result = new Args().tryParse(new String[] {"-v", "in", "-", "-5"});
+        assertEquals(Diagnostic.Code.INVALID_VALUE, result.errors().get(0).code());
+        assertEquals(2, result.errors().get(0).index());
+
+        Args args = parse("in", "-5", "-");
+        assertEquals(-5, args.n);
+        assertEquals(Arrays.asList("-"), args.files);
+    }
+
+    @Test
+    public void reportsMissingOperands() {
+        ParseResult result = new Args().tryParse(new String[0]);
+        assertEquals(Diagnostic.Code.MISSING_REQUIRED, result.errors().get(0).code());
+    }
+
+    @Test
+    public void reportsUnexpectedOperands() {
+        Single single = new Single();
+        ParseResult result = single.tryParse(new String[] {"--flag", "p", "q"});
+        assertEquals(Diagnostic.Code.UNEXPECTED_OPERAND, result.errors().get(0).code());
+        assertEquals(2, result.errors().get(0).index());
+        assertEquals("p", single.a);
+        assertEquals(Boolean.TRUE, single.flag);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void givesReadOnlyViews() {
+        Args args = parse("in", "1", "f1", "f2", "f3");
+        assertEquals(Arrays.asList("f2", "f3"), args.files.subList(1, 3));
+        args.files.add("f4");
+    }
+
+    @Test
+    public void takesOperandsFromLines() {
+        Args args = new Args();
+        args.parse("in 2 f1 -v f2 -- a 'b c'");
+        assertEquals(Arrays.asList("f1", "f2"), args.files);
+        assertEquals(Arrays.asList("a", "b c"), args.child);
+        assertTrue(args.verbose);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class OptionIndexTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name;
+        @Arg
+        public int count;
+        @Arg(shortName = "v")
+        public boolean verbose;
+        @Arg(longName = "dry-run")
+        public boolean dryRun;
+    }
+
+    private static final ArgSchema SCHEMA = ArgSchema.of(Args.class);
+
+    private static OptionBinding get(OptionIndex index, String line, int start, int end) {
+        return index.get(line.toCharArray(), start, end);
+    }
+
+    @Test
+    public void findsEveryOption() {
+        for (OptionBinding binding : SCHEMA.bindings) {
+            assertSame(binding, SCHEMA.options.get(binding.longName));
+            if(binding.shortName != null){
+                assertSame(binding, SCHEMA.options.get(binding.shortName));
+            }
+        }
+    }
+
+    @Test
+    public void findsOptionsInCharacterRanges() {
+        assertEquals("--dry-run", get(SCHEMA.options, "x --dry-run y", 2, 11).longName);
+        assertEquals("--name", get(SCHEMA.options, "-n", 0, 2).longName);
+    }
+
+    @Test
+    public void missesUnknownOptions() {
+        assertNull(SCHEMA.options.get("--nam"));
+        assertNull(SCHEMA.options.get("--names"));
+        assertNull(SCHEMA.options.get("name"));
+        assertNull(get(SCHEMA.options, "--dry-run", 0, 8));
+        assertNull(get(SCHEMA.options, "--dry-runs", 0, 10));
+    }
+
+    @Test
+    public void keepsOptionsWithTheSameHash() {
+        // "Aa" and "BB" have the same String.hashCode()
+        Map<String, OptionBinding> options = new HashMap<>();
+        options.put("Aa", SCHEMA.bindings[0]);
+        options.put("BB", SCHEMA.bindings[1]);
+        OptionIndex index = new OptionIndex(options);
+        assertSame(SCHEMA.bindings[0], index.get("Aa"));
+        assertSame(SCHEMA.bindings[1], index.get("BB"));
+        assertSame(SCHEMA.bindings[1], get(index, "BB", 0, 2));
+        assertNull(index.get("AB"));
+    }
+
+    @Test
+    public void isEmptyWithoutOptions() {
+        OptionIndex index = new OptionIndex(new HashMap<String, OptionBinding>());
+        assertNull(index.get("--name"));
+        assertNull(get(index, "--name", 0, 6));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Year;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class ParseCacheTest {
+    public static class BuiltInArgs extends AbstractArgs {
+        @Arg
+        public UUID id;
+        @Arg
+        public int count;
+    }
+
+    public static class RegisteredArgs extends AbstractArgs {
+        @Arg
+        public Year year;
+    }
+
+    @Test
+    public void cachesBuiltInTypes() {
+        ParseCache<BuiltInArgs> cache = new ParseCache<>(BuiltInArgs.class, 4);
+        assertTrue(cache.isCaching());
+        String[] args = {"--count", "3"};
+        BuiltInArgs first = cache.parse(args);
+        BuiltInArgs second = cache.parse(args.clone());
+        assertNotSame(first, second);
+        assertEquals(3, second.count);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    public void doesNotCacheRegisteredConverters() {
+        Converters.register(Year.class, new Converter<Year>() {
+            @Override
+            public Year convert(String value) {
+                return Year.of(Integer.parseInt(value) + 2000);
+            }
+        });
+        ParseCache<RegisteredArgs> cache = new ParseCache<>(RegisteredArgs.class, 4);
+        assertFalse(cache.isCaching());
+        assertEquals(Year.of(2024), cache.parse(new String[] {"--year", "24"}).year);
+        assertEquals(0, cache.hits());
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.Diagnostic.Code;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+public class ParseResultTest {
+    private static final Diagnostic WARNING = new Diagnostic(Code.DUPLICATE_OPTION, "A warning.", null, -1, null);
+
+    @Test
+    public void collectsWarningsWithoutFailing() {
+        ParseResult result = new ParseResult(Collections.<Diagnostic>emptyList());
+        result.report(WARNING);
+        assertTrue(result.isSuccess());
+        assertEquals(Collections.singletonList(WARNING), result.warnings());
+    }
+
+    @Test
+    public void printsWarningsInsteadOfThrowingThem() {
+        final PrintStream err = System.err;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(printed, true));
+        try {
+            ParseResult.THROWING.report(WARNING);
+        } finally {
+            System.setErr(err);
+        }
+        assertTrue(ParseResult.THROWING.warnings().isEmpty());
+        assertEquals(WARNING.toString(), printed.toString().trim());
+    }
+
+    @Test(expected = IllegalCommandArgumentException.class)
+    public void throwsErrors() {
+        ParseResult.THROWING.report(Diagnostic.missingRequired("--name"));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParseTraceTest {
+    public static class Args extends AbstractArgs {
+        @Arg
+        public String name;
+        @Arg
+        public int count;
+    }
+
+    private final List<ParseTrace> traces = new ArrayList<>();
+    private final ParseListener listener = new ParseListener() {
+        @Override
+        public void converted(Class<? extends AbstractArgs> type, String option, long nanos, boolean succeeded) {
+        }
+
+        @Override
+        public void parsed(ParseTrace trace) {
+            traces.add(trace);
+        }
+    };
+
+    @Before
+    public void listen() {
+        Instrumentation.addListener(listener);
+    }
+
+    @After
+    public void stopListening() {
+        Instrumentation.removeListener(listener);
+    }
+
+    @Test
+    public void timesTheSplitOfLines() {
+        new Args().parse("--name 'a b' --count 2");
+        new Args().parse(ByteBuffer.wrap("--count 3".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, traces.size());
+        assertEquals(4, traces.get(0).arguments());
+        assertEquals(2, traces.get(1).arguments());
+        assertEquals(2, traces.get(0).conversions());
+        for (ParseTrace trace : traces) {
+            assertTrue(trace.splitNanos() > 0);
+            assertTrue(trace.totalNanos() >= trace.schemaNanos() + trace.splitNanos() + trace.scanNanos());
+            assertTrue(trace.isSucceeded());
+        }
+    }
+
+    @Test
+    public void doesNotSplitArgumentVectors() {
+        new Args().parse(new String[] {"--count", "1"});
+        assertEquals(1, traces.size());
+        assertEquals(2, traces.get(0).arguments());
+        assertEquals(0, traces.get(0).splitNanos());
+    }
+}
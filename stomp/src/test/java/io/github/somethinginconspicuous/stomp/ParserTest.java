@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+public class ParserTest {
+    public static class Args extends AbstractArgs {
+        @Arg(shortName = "n")
+        public String name = "default";
+        @Arg
+        public int count;
+    }
+
+    public static class NoDefaultConstructor extends AbstractArgs {
+        @Arg
+        public int count;
+
+        public NoDefaultConstructor(int count) {
+            this.count = count;
+        }
+    }
+
+    private final Parser<Args> parser = Stomp.parser(Args.class);
+
+    @Test
+    public void hasOneParserPerClass() {
+        assertSame(parser, Stomp.parser(Args.class));
+        assertSame(Args.class, parser.type());
+    }
+
+    @Test
+    public void parsesIntoNewContainers() {
+        Args first = parser.parse(new String[] {"-n", "first"});
+        Args second = parser.parse(new String[] {"--count", "2"});
+        assertNotSame(first, second);
+        assertEquals("first", first.name);
+        assertEquals(0, first.count);
+        assertEquals("default", second.name);
+        assertEquals(2, second.count);
+    }
+
+    @Test
+    public void parsesPartsOfArguments() {
+        Args args = parser.parse(new String[] {"run", "--count", "3", "-n"}, 1, 3);
+        assertEquals(3, args.count);
+        assertEquals("default", args.name);
+    }
+
+    @Test
+    public void parsesCommandLines() {
+        assertEquals("a b", parser.parse("-n 'a b' --count 1").name);
+        assertEquals(4, parser.parse(ByteBuffer.wrap("--count 4".getBytes(StandardCharsets.UTF_8))).count);
+    }
+
+    @Test(expected = IllegalCommandArgumentException.class)
+    public void throwsTheFirstError() {
+        parser.parse(new String[] {"--count", "many"});
+    }
+
+    @Test
+    public void collectsErrors() {
+        Parsed<Args> parsed = parser.tryParse(new String[] {"--count", "many", "-n"});
+        assertFalse(parsed.result().isSuccess());
+        assertEquals(2, parsed.result().errors().size());
+        assertEquals("default", parsed.args().name);
+        assertTrue(parser.tryParse("--count 1").result().isSuccess());
+    }
+
+    @Test(expected = IllegalArgumentClassException.class)
+    public void needsAConstructorWithoutParameters() {
+        Stomp.parser(NoDefaultConstructor.class);
+    }
+
+    @Test
+    public void isSharedBetweenThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Args>> parsed = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                final String count = Integer.toString(i);
+                parsed.add(pool.submit(new Callable<Args>() {
+                    @Override
+                    public Args call() {
+                        return parser.parse(new String[] {"--count", count});
+                    }
+                }));
+            }
+            for (int i = 0; i < parsed.size(); i++) {
+                assertEquals(i, parsed.get(i).get().count);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class WarmUpTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public static class Args extends AbstractArgs {
+        @Arg
+        public String name;
+    }
+
+    private ClassLoader indexed(String... names) throws IOException {
+        File index = new File(folder.getRoot(), WarmUp.INDEX);
+        index.getParentFile().mkdirs();
+        StringBuilder content = new StringBuilder("# containers\n");
+        for (String name : names) {
+            content.append(name).append('\n');
+        }
+        Files.write(index.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+        return new URLClassLoader(new URL[] {folder.getRoot().toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    public void warmsUpOnDaemonThreads() throws IOException, InterruptedException, ExecutionException {
+        WarmUp warmUp = WarmUp.start(indexed(Args.class.getName(), "com.example.Missing")).get();
+        assertEquals(Collections.<Class<?>>singletonList(Args.class), warmUp.containers());
+        assertTrue(warmUp.failures().get("com.example.Missing") instanceof ClassNotFoundException);
+    }
+
+    @Test
+    public void warmsUpOnAnExecutor() throws IOException, InterruptedException, ExecutionException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            WarmUp warmUp = Stomp.warmUp(indexed(Args.class.getName()), pool).get();
+            assertEquals(1, warmUp.containers().size());
+            assertTrue(warmUp.failures().isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void warmsUpWithoutTellingListeners() throws IOException, InterruptedException, ExecutionException {
+        final AtomicBoolean told = new AtomicBoolean();
+        ParseListener listener = new ParseListener() {
+            @Override
+            public void converted(Class<? extends AbstractArgs> type, String option, long nanos, boolean succeeded) {
+                told.set(true);
+            }
+
+            @Override
+            public void parsed(ParseTrace trace) {
+                told.set(true);
+            }
+        };
+        Instrumentation.addListener(listener);
+        try {
+            WarmUp warmUp = WarmUp.start(indexed(Args.class.getName())).get();
+            assertEquals(1, warmUp.containers().size());
+            assertFalse(told.get());
+        } finally {
+            Instrumentation.removeListener(listener);
+        }
+    }
+}
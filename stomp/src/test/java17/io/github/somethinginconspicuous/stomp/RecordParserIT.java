@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2023 Something-Inconspicuous
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.somethinginconspicuous.stomp;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalArgumentClassException;
+import io.github.somethinginconspicuous.stomp.exceptions.IllegalCommandArgumentException;
+
+public class RecordParserIT {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    record Server(@Arg(shortName = "p", env = "PORT") int port, @Arg String host, @Arg(shortName = "v") boolean verbose) {}
+
+    @ArgFiles
+    record Job(@Arg(shortName = "t") String[] tags, @Count @Arg(shortName = "q") int quiet, @Arg List<Integer> ids,
+            @Range(min = 1, max = 8) @Arg int threads, @Positional(0) String target, @NotArg long unused) {}
+
+    static class NotARecord {
+        @Arg
+        public int port;
+    }
+
+    @Test
+    public void findsTheComponentsOfRecords() {
+        assertTrue(Records.isSupported());
+        assertEquals(3, Records.components(Server.class).length);
+        assertNull(Records.components(NotARecord.class));
+    }
+
+    @Test
+    public void parsesRecords() {
+        Server server = Stomp.recordParser(Server.class).parse(new String[] {"--host", "example.org", "-p", "8080", "-v"});
+        assertEquals(new Server(8080, "example.org", true), server);
+    }
+
+    @Test
+    public void leavesOptionsThatAreNotGivenAtZero() {
+        assertEquals(new Server(0, null, false), Stomp.recordParser(Server.class).parse(new String[0]));
+    }
+
+    @Test
+    public void hasOneParserPerRecord() {
+        assertSame(Stomp.recordParser(Server.class), Stomp.recordParser(Server.class));
+        assertSame(Server.class, Stomp.recordParser(Server.class).type());
+    }
+
+    @Test
+    public void parsesPartsOfArguments() {
+        Server server = Stomp.recordParser(Server.class).parse(new String[] {"run", "-p", "1", "--", "-v"}, 1, 3);
+        assertEquals(new Server(1, null, false), server);
+    }
+
+    @Test
+    public void parsesArraysCountsAndOperands() {
+        Job job = Stomp.recordParser(Job.class).parse(new String[] {"-t", "a", "-qq", "--ids", "4", "deploy", "-t", "b", "--ids", "5", "--threads", "3"});
+        assertArrayEquals(new String[] {"a", "b"}, job.tags());
+        assertEquals(2, job.quiet());
+        assertEquals(List.of(4, 5), job.ids());
+        assertEquals(3, job.threads());
+        assertEquals("deploy", job.target());
+        assertEquals(0, job.unused());
+    }
+
+    @Test(expected = IllegalCommandArgumentException.class)
+    public void throwsTheFirstError() {
+        Stomp.recordParser(Server.class).parse(new String[] {"-p", "eighty"});
+    }
+
+    @Test
+    public void collectsErrors() {
+        Parsed<Job> parsed = Stomp.recordParser(Job.class).tryParse(new String[] {"--threads", "9", "--ids", "x"});
+        assertFalse(parsed.result().isSuccess());
+        assertEquals(2, parsed.result().errors().size());
+        // constraints are checked once every argument has been read
+        assertEquals(Diagnostic.Code.INVALID_VALUE, parsed.result().errors().get(0).code());
+        assertEquals(Diagnostic.Code.OUT_OF_RANGE, parsed.result().errors().get(1).code());
+        assertNull(parsed.args().target());
+    }
+
+    @Test
+    public void readsSources() {
+        ArgSources sources = ArgSources.none()
+                .withEnvironment(Collections.singletonMap("PORT", "9000"))
+                .withDefaults(Collections.singletonMap("host", "localhost"));
+        RecordParser<Server> parser = Stomp.recordParser(Server.class);
+        assertEquals(new Server(9000, "localhost", false), parser.parse(new String[0], sources));
+        assertEquals(new Server(1, "localhost", false), parser.tryParse(new String[] {"-p", "1"}, sources).args());
+    }
+
+    @Test
+    public void expandsArgumentFiles() throws IOException {
+        File file = folder.newFile("job");
+        Files.write(file.toPath(), "-t 'from file'\n--threads 2\n".getBytes(StandardCharsets.UTF_8));
+        Job job = Stomp.recordParser(Job.class).parse(new String[] {"@" + file.getPath(), "build"});
+        assertArrayEquals(new String[] {"from file"}, job.tags());
+        assertEquals(2, job.threads());
+        assertEquals("build", job.target());
+    }
+
+    @Test(expected = IllegalArgumentClassException.class)
+    public void rejectsClassesThatAreNotRecords() {
+        Stomp.recordParser(NotARecord.class);
+    }
+}